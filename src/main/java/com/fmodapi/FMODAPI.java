@@ -1,14 +1,15 @@
 package com.fmodapi;
 
+import net.minecraft.world.entity.Entity;
 import org.lwjgl.PointerBuffer;
 import org.lwjgl.fmod.FMOD;
 import org.lwjgl.fmod.FMODStudio;
 import org.lwjgl.fmod.FMOD_3D_ATTRIBUTES;
 import org.lwjgl.system.MemoryStack;
 
-import java.io.InputStream;
-import java.nio.ByteBuffer;
-import java.util.Map;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Main API class for other mods to interact with FMOD.
@@ -18,12 +19,42 @@ import java.util.Map;
  */
 public class FMODAPI {
 
+    /**
+     * Id string returned by the name-based playEvent methods for a sound FMOD deliberately did not play
+     * (instance limit, throttling). Unlike null it must not be replayed through OpenAL.
+     */
+    public static final String DROPPED_INSTANCE = Long.toHexString(FMODInstanceRegistry.DROPPED_ID);
+
+    // Per-sound messages are sampled so debug logging stays usable with many sounds playing
+    private static final FMODLog.Sampler PLAY_LOG_SAMPLER = new FMODLog.Sampler(100);
+    private static final FMODLog.Sampler FALLBACK_LOG_SAMPLER = new FMODLog.Sampler(100);
+
+    // Reusable native structs for per-tick 3D updates on the game thread - allocated on first use,
+    // kept for the lifetime of the game
+    private static FMOD_3D_ATTRIBUTES listenerAttributes;
+    private static FMOD_3D_ATTRIBUTES emitterAttributes;
+
+    // Master channel group of the current system, and the system whose master group is paused (0 if none)
+    private static long masterGroupSystem;
+    private static long masterGroup;
+    private static long pausedSystem;
+
     /**
      * Check if FMOD system is available and initialized.
      * External mods should not need to call this - all FMOD API methods handle availability internally.
      */
     public static boolean isAvailable() {
-        return FMODSystem.isInitialized() && !FMODSystem.hasInitializationFailed();
+        return FMODConfig.snapshot().available;
+    }
+
+    /**
+     * Future completing once FMOD has finished starting up - on the game thread if it started in the background.
+     * Sounds played before that get their instance id right away and are replayed under it once FMOD is ready
+     * (dropped if it fails), so waiting is only needed to act on the outcome.
+     * @return Future completing with true if FMOD is available, false if it failed or is disabled
+     */
+    public static CompletableFuture<Boolean> whenReady() {
+        return FMODStartup.whenReady();
     }
 
     /**
@@ -42,7 +73,8 @@ public class FMODAPI {
      * Play a sound event by name
      * @param eventName The FMOD event name (e.g., "event:/weapons/rifle_shot")
      * @param position 3D position for the sound (null for 2D sound)
-     * @return Sound instance ID for controlling the sound, or null if failed
+     * @return Sound instance ID for controlling the sound, DROPPED_INSTANCE if FMOD dropped it on purpose,
+     *         or null if FMOD is unavailable or failed (fall back to OpenAL)
      */
     public static String playEvent(String eventName, Vec3D position) {
         return playEvent(eventName, position, 1.0f, 1.0f);
@@ -56,10 +88,11 @@ public class FMODAPI {
      * @param z Z coordinate
      * @param volume Volume multiplier (0.0 to 1.0)
      * @param pitch Pitch multiplier (0.1 to 3.0)
-     * @return Sound instance ID for controlling the sound, or null if failed
+     * @return Sound instance ID for controlling the sound, DROPPED_INSTANCE if FMOD dropped it on purpose,
+     *         or null if FMOD is unavailable or failed (fall back to OpenAL)
      */
     public static String playEventAt(String eventName, double x, double y, double z, float volume, float pitch) {
-        return playEvent(eventName, new Vec3D(x, y, z), volume, pitch);
+        return toInstanceIdString(playEvent(FMODEventCache.getHandle(eventName), x, y, z, volume, pitch));
     }
 
     /**
@@ -68,11 +101,10 @@ public class FMODAPI {
      * @param x X coordinate
      * @param y Y coordinate
      * @param z Z coordinate
-     * @return true if sound was played successfully, false if failed
+     * @return true if FMOD handled the sound (played or deliberately dropped), false if it should fall back to OpenAL
      */
     public static boolean playEventSimple(String eventName, double x, double y, double z) {
-        String instanceId = playEventAt(eventName, x, y, z, 1.0f, 1.0f);
-        return instanceId != null;
+        return playEvent(FMODEventCache.getHandle(eventName), x, y, z, 1.0f, 1.0f) != FMODInstanceRegistry.INVALID_ID;
     }
 
     /**
@@ -81,153 +113,587 @@ public class FMODAPI {
      * @param position 3D position for the sound (null for 2D sound)
      * @param volume Volume multiplier (0.0 to 1.0)
      * @param pitch Pitch multiplier (0.1 to 3.0)
-     * @return Sound instance ID for controlling the sound, or null if failed
+     * @return Sound instance ID for controlling the sound, DROPPED_INSTANCE if FMOD dropped it on purpose,
+     *         or null if FMOD is unavailable or failed (fall back to OpenAL)
      */
     public static String playEvent(String eventName, Vec3D position, float volume, float pitch) {
-        System.out.println("[FMOD API] playEvent called with: " + eventName + ", position: " + position + ", volume: " + volume + ", pitch: " + pitch);
+        if (FMODLog.isDebugEnabled() && PLAY_LOG_SAMPLER.next()) {
+            FMODLog.debug("playEvent called with: " + eventName + ", position: " + position + ", volume: " + volume
+                + ", pitch: " + pitch + " (1 of every " + PLAY_LOG_SAMPLER.getPeriod() + " calls logged)");
+        }
+        return toInstanceIdString(playEvent(FMODEventCache.getHandle(eventName), position, volume, pitch));
+    }
 
-        // Check if FMOD routing is enabled - if not, return null to trigger OpenAL fallback
-        try {
-            if (!FMODConfig.FMOD_ENABLED.get()) {
-                System.out.println("[FMOD API] FMOD routing disabled - sound will use OpenAL fallback");
-                return null;
+    /**
+     * Resolve an event name to a handle that can be kept and passed to playEvent.
+     * The lookup in FMOD happens at most once per event; the handle stays valid across bank reloads.
+     * @param eventName FMOD event name (without "event:/" prefix)
+     * @return Event handle (never null - resolution is retried lazily if the event is not loaded yet)
+     */
+    public static EventHandle resolveEvent(String eventName) {
+        EventHandle handle = FMODEventCache.getHandle(eventName);
+        if (isAvailable()) {
+            FMODEventCache.resolve(handle);
+        }
+        return handle;
+    }
+
+    /**
+     * Set how many finished instances of a one-shot event are kept for reuse, overriding the config.
+     * Reused instances skip instance creation and release; their local parameters are reset to defaults.
+     * @param eventName FMOD event name (without "event:/" prefix)
+     * @param capacity Idle instances to keep (0 disables pooling for the event)
+     */
+    public static void setInstancePoolSize(String eventName, int capacity) {
+        FMODInstancePool.setCapacity(eventName, capacity);
+    }
+
+    /**
+     * Create instances of a one-shot event ahead of its first playback, so it starts without
+     * instance creation cost. Done right away if the event is loaded, otherwise when its bank loads,
+     * and again after the bank is reloaded. Grows the event's pool to at least this size.
+     * @param eventName FMOD event name (without "event:/" prefix)
+     * @param count Instances to keep ready (0 cancels the warm-up)
+     */
+    public static void warmUpEvent(String eventName, int count) {
+        FMODInstancePool.warmUp(eventName, count);
+    }
+
+    /**
+     * Play a pre-resolved event - skips all event path string work and does not allocate
+     * @param event Handle obtained from resolveEvent()
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @param z Z coordinate
+     * @param volume Volume multiplier (0.0 to 1.0)
+     * @param pitch Pitch multiplier (0.1 to 3.0)
+     * @return Instance id, FMODInstanceRegistry.DROPPED_ID if FMOD dropped the sound on purpose,
+     *         or FMODInstanceRegistry.INVALID_ID (0) if FMOD is unavailable or failed (fall back to OpenAL)
+     */
+    public static long playEvent(EventHandle event, double x, double y, double z, float volume, float pitch) {
+        return startEvent(event, true, x, y, z, volume, pitch);
+    }
+
+    /**
+     * Play a pre-resolved event with volume and pitch control
+     * @param event Handle obtained from resolveEvent()
+     * @param position 3D position for the sound (null for 2D sound)
+     * @param volume Volume multiplier (0.0 to 1.0)
+     * @param pitch Pitch multiplier (0.1 to 3.0)
+     * @return Instance id, FMODInstanceRegistry.DROPPED_ID if FMOD dropped the sound on purpose,
+     *         or FMODInstanceRegistry.INVALID_ID (0) if FMOD is unavailable or failed (fall back to OpenAL)
+     */
+    public static long playEvent(EventHandle event, Vec3D position, float volume, float pitch) {
+        if (position == null) {
+            return startEvent(event, false, 0, 0, 0, volume, pitch);
+        }
+        return startEvent(event, true, position.x, position.y, position.z, volume, pitch);
+    }
+
+    /**
+     * Play many events in one call: one availability check and one MemoryStack frame for the whole batch.
+     * @param events Event handles obtained from resolveEvent()
+     * @param positions Interleaved x,y,z coordinates (3 per event), or null for all 2D.
+     *                  An entry with a NaN x coordinate is played as a 2D sound.
+     * @param volumes Volume per event, or null for 1.0
+     * @param pitches Pitch per event, or null for 1.0
+     * @param count Number of events to play (from index 0). A null handle is skipped and reported as INVALID_ID.
+     * @param instanceIdsOut Receives the instance id per event - DROPPED_ID for sounds FMOD dropped on purpose,
+     *                       INVALID_ID (0) for failures that should fall back to OpenAL - or null
+     * @return Number of events that were started
+     * @throws IllegalArgumentException if count is negative or an array holds fewer than count entries
+     */
+    public static int playEvents(EventHandle[] events, double[] positions, float[] volumes, float[] pitches,
+                                 int count, long[] instanceIdsOut) {
+        // Checked up front - failing halfway would leave part of the batch playing
+        if (count < 0 || events == null || events.length < count
+            || (positions != null && positions.length < count * 3L)
+            || (volumes != null && volumes.length < count)
+            || (pitches != null && pitches.length < count)
+            || (instanceIdsOut != null && instanceIdsOut.length < count)) {
+            throw new IllegalArgumentException("playEvents: arrays must hold at least count (" + count + ") entries");
+        }
+
+        if (instanceIdsOut != null) {
+            Arrays.fill(instanceIdsOut, 0, count, FMODInstanceRegistry.INVALID_ID);
+        }
+
+        if (FMODStartup.isPending()) {
+            int queued = deferEvents(events, positions, volumes, pitches, count, instanceIdsOut);
+            if (queued >= 0) {
+                return queued;
+            }
+        }
+
+        if (!isRoutingActive()) {
+            return 0;
+        }
+
+        int started = 0;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            PointerBuffer instancePtr = stack.mallocPointer(1);
+            FMOD_3D_ATTRIBUTES attributes = newAttributes(stack);
+
+            for (int i = 0; i < count; i++) {
+                if (events[i] == null) {
+                    continue; // Reported as INVALID_ID, like an event that doesn't exist
+                }
+                boolean positioned = positions != null && !Double.isNaN(positions[i * 3]);
+                double x = positioned ? positions[i * 3] : 0;
+                double y = positioned ? positions[i * 3 + 1] : 0;
+                double z = positioned ? positions[i * 3 + 2] : 0;
+                float volume = volumes != null ? volumes[i] : 1.0f;
+                float pitch = pitches != null ? pitches[i] : 1.0f;
+
+                long instanceId = startInstance(instancePtr, attributes, events[i], positioned, x, y, z, volume, pitch,
+                    0, FMODInstanceRegistry.INVALID_ID);
+                if (instanceIdsOut != null) {
+                    instanceIdsOut[i] = instanceId;
+                }
+                if (instanceId != FMODInstanceRegistry.INVALID_ID && instanceId != FMODInstanceRegistry.DROPPED_ID) {
+                    started++;
+                }
             }
         } catch (Exception e) {
-            System.out.println("[FMOD API] Config not available, defaulting to FMOD routing");
+            FMODLog.error("Exception playing event batch: " + e.getMessage());
         }
 
-        if (!isAvailable()) {
-            System.err.println("[FMOD API] playEvent failed - FMOD not available");
-            return null;
+        return started;
+    }
+
+    /**
+     * Create, configure and start an event instance, then track it in the instance registry
+     */
+    private static long startEvent(EventHandle event, boolean positioned, double x, double y, double z, float volume, float pitch) {
+        // Played before a background initialization finished - replayed once FMOD is ready under a reserved id
+        if (FMODStartup.isPending()) {
+            long reservedId = deferEvent(event, positioned, x, y, z, volume, pitch);
+            if (reservedId != FMODInstanceRegistry.INVALID_ID) {
+                return reservedId;
+            }
         }
 
-        System.out.println("[FMOD API] FMOD is available, proceeding with event playback");
+        if (!isRoutingActive()) {
+            return FMODInstanceRegistry.INVALID_ID;
+        }
 
         try (MemoryStack stack = MemoryStack.stackPush()) {
-            // Get event description
-            PointerBuffer descPtr = stack.mallocPointer(1);
-            ByteBuffer eventNameBuffer = stack.UTF8("event:/" + eventName);
-            System.out.println("[FMOD API] Looking for event: event:/" + eventName);
+            return startInstance(stack.mallocPointer(1), newAttributes(stack), event, positioned, x, y, z, volume, pitch,
+                0, FMODInstanceRegistry.INVALID_ID);
+        } catch (Exception e) {
+            FMODLog.error("Exception playing event " + event.eventName + ": " + e.getMessage());
+            return FMODInstanceRegistry.INVALID_ID;
+        }
+    }
 
-            int result = FMODStudio.FMOD_Studio_System_GetEvent(
-                FMODSystem.getSystemHandle(),
-                eventNameBuffer,
-                descPtr
-            );
+    /**
+     * Queue a sound until a background initialization has finished. Its id is reserved right away, so the
+     * caller can keep, stop or scope it; the replay attaches the instance to that id.
+     * @return Reserved id, or INVALID_ID if startup is over or its queue is full - play it right away instead
+     */
+    private static long deferEvent(EventHandle event, boolean positioned, double x, double y, double z,
+                                   float volume, float pitch) {
+        FMODInstanceRegistry instances = FMODSystem.getInstanceRegistry();
+        long reservedId = instances.reserve(event, positioned, x, y, z, volume);
+        if (FMODStartup.defer(() -> startDeferred(reservedId, event, positioned, x, y, z, volume, pitch))) {
+            return reservedId;
+        }
+        instances.remove(reservedId);
+        return FMODInstanceRegistry.INVALID_ID;
+    }
 
-            System.out.println("[FMOD API] GetEvent result: " + result + " (FMOD_OK=" + FMOD.FMOD_OK + ")");
+    /**
+     * Queue a batch until a background initialization has finished, reserving an id per sound (none for null handles)
+     * @return Number of sounds queued, or -1 if startup is over or its queue is full - play them right away instead
+     */
+    private static int deferEvents(EventHandle[] events, double[] positions, float[] volumes, float[] pitches,
+                                   int count, long[] instanceIdsOut) {
+        FMODInstanceRegistry instances = FMODSystem.getInstanceRegistry();
+        // Caller may reuse its arrays - the replay gets copies
+        EventHandle[] queuedEvents = Arrays.copyOf(events, count);
+        double[] queuedPositions = new double[count * 3];
+        float[] queuedVolumes = new float[count];
+        float[] queuedPitches = new float[count];
+        long[] reservedIds = new long[count];
+        int reserved = 0;
+        for (int i = 0; i < count; i++) {
+            if (queuedEvents[i] == null) {
+                reservedIds[i] = FMODInstanceRegistry.INVALID_ID; // Never resolves - the replay skips it
+                continue;
+            }
+            boolean positioned = positions != null && !Double.isNaN(positions[i * 3]);
+            queuedPositions[i * 3] = positioned ? positions[i * 3] : Double.NaN;
+            queuedPositions[i * 3 + 1] = positioned ? positions[i * 3 + 1] : 0;
+            queuedPositions[i * 3 + 2] = positioned ? positions[i * 3 + 2] : 0;
+            queuedVolumes[i] = volumes != null ? volumes[i] : 1.0f;
+            queuedPitches[i] = pitches != null ? pitches[i] : 1.0f;
+            reservedIds[i] = instances.reserve(queuedEvents[i], positioned, queuedPositions[i * 3],
+                queuedPositions[i * 3 + 1], queuedPositions[i * 3 + 2], queuedVolumes[i]);
+            reserved++;
+        }
 
-            if (result != FMOD.FMOD_OK) {
-                System.err.println("[FMOD API] Failed to find event: " + eventName + " (error: " + result + ")");
-                return null;
+        boolean queued = FMODStartup.defer(() -> {
+            for (int i = 0; i < count; i++) {
+                boolean positioned = !Double.isNaN(queuedPositions[i * 3]);
+                startDeferred(reservedIds[i], queuedEvents[i], positioned, queuedPositions[i * 3],
+                    queuedPositions[i * 3 + 1], queuedPositions[i * 3 + 2], queuedVolumes[i], queuedPitches[i]);
+            }
+        });
+        if (!queued) {
+            for (long reservedId : reservedIds) {
+                instances.remove(reservedId);
             }
+            return -1;
+        }
 
-            long description = descPtr.get(0);
+        if (instanceIdsOut != null) {
+            System.arraycopy(reservedIds, 0, instanceIdsOut, 0, count);
+        }
+        return reserved;
+    }
 
-            // Create instance
-            PointerBuffer instancePtr = stack.mallocPointer(1);
+    /**
+     * Start a sound queued during a background initialization under the id reserved for it.
+     * If FMOD did not come up, or the id was stopped meanwhile, the reservation is dropped.
+     */
+    private static void startDeferred(long reservedId, EventHandle event, boolean positioned, double x, double y, double z,
+                                      float volume, float pitch) {
+        FMODInstanceRegistry instances = FMODSystem.getInstanceRegistry();
+        if (!instances.contains(reservedId)) {
+            return; // Stopped before FMOD was ready
+        }
+        if (!isRoutingActive()) {
+            instances.remove(reservedId);
+            return;
+        }
+
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            startInstance(stack.mallocPointer(1), newAttributes(stack), event, positioned, x, y, z, volume, pitch, 0, reservedId);
+        } catch (Exception e) {
+            FMODLog.error("Exception playing queued event " + event.eventName + ": " + e.getMessage());
+            instances.remove(reservedId);
+        }
+    }
+
+    /**
+     * Check that FMOD routing is enabled in config and the FMOD system is available
+     * @return false if sounds should fall back to OpenAL
+     */
+    private static boolean isRoutingActive() {
+        FMODConfig.Snapshot config = FMODConfig.snapshot();
+        if (config.routingActive) {
+            return true;
+        }
+
+        // Routing disabled in config, or FMOD not available - sounds fall back to OpenAL
+        if (!config.fmodEnabled) {
+            if (FMODLog.isDebugEnabled() && FALLBACK_LOG_SAMPLER.next()) {
+                FMODLog.debug("FMOD routing disabled - sound will use OpenAL fallback");
+            }
+        } else if (FALLBACK_LOG_SAMPLER.next()) {
+            FMODLog.warn("playEvent failed - FMOD not available");
+        }
+        return false;
+    }
+
+    /**
+     * Allocate 3D attributes with zero velocity and default orientation; only the position changes per sound
+     */
+    private static FMOD_3D_ATTRIBUTES newAttributes(MemoryStack stack) {
+        FMOD_3D_ATTRIBUTES attributes = FMOD_3D_ATTRIBUTES.calloc(stack);
+        attributes.velocity().set(0f, 0f, 0f);
+        attributes.forward().set(0f, 0f, 1f);
+        attributes.up().set(0f, 1f, 0f);
+        return attributes;
+    }
+
+    /**
+     * Admit one sound and start it - on the audio thread if it is running, otherwise right here
+     * using caller-provided scratch memory. Routing and availability must already have been checked.
+     * @param timelineMs Timeline position to start at, 0 for the beginning
+     * @param reservedId Id already reserved for the sound (dropped if it is not played), or INVALID_ID
+     * @return Instance id, DROPPED_ID if culled or not admitted, or INVALID_ID if failed
+     */
+    private static long startInstance(PointerBuffer instancePtr, FMOD_3D_ATTRIBUTES attributes, EventHandle event,
+                                      boolean positioned, double x, double y, double z, float volume, float pitch,
+                                      int timelineMs, long reservedId) {
+        FMODInstanceRegistry instances = FMODSystem.getInstanceRegistry();
+
+        // Too far away to be heard - no instance at all, at most a virtual voice
+        if (FMODAudioLod.cull(event, positioned, x, y, z, volume, pitch)) {
+            instances.remove(reservedId);
+            return FMODInstanceRegistry.DROPPED_ID;
+        }
+
+        // Enforce the instance limit and per-event throttling before creating anything
+        if (!FMODVoiceLimiter.admit(event, positioned, x, y, z, volume)) {
+            instances.remove(reservedId);
+            return FMODInstanceRegistry.DROPPED_ID;
+        }
+
+        if (FMODAudioThread.isRunning()) {
+            // Reserve the id now so the caller can use it immediately; the audio thread attaches the instance
+            long instanceId = reservedId != FMODInstanceRegistry.INVALID_ID
+                ? reservedId : instances.reserve(event, positioned, x, y, z, volume);
+            if (FMODAudioThread.submitPlay(instanceId, event, positioned, x, y, z, volume, pitch, timelineMs)) {
+                return instanceId;
+            }
+            // Command queue full - play synchronously instead
+            if (reservedId == FMODInstanceRegistry.INVALID_ID) {
+                instances.remove(instanceId);
+            }
+        }
+
+        return createInstance(instancePtr, attributes, event, positioned, x, y, z, volume, pitch, timelineMs, reservedId);
+    }
+
+    /**
+     * Start a virtual voice the listener has come close to, skipping the part of the one-shot that is already over.
+     * Goes through the same admission and threading as any other sound - on the audio thread if it is running.
+     * @param timelineMs Timeline position to start at
+     * @return Instance id, DROPPED_ID if it was not admitted, or INVALID_ID if it failed
+     */
+    static long startPromoted(EventHandle event, double x, double y, double z, float volume, float pitch, int timelineMs) {
+        if (!isRoutingActive()) {
+            return FMODInstanceRegistry.INVALID_ID;
+        }
+
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            return startInstance(stack.mallocPointer(1), newAttributes(stack), event, true, x, y, z, volume, pitch,
+                timelineMs, FMODInstanceRegistry.INVALID_ID);
+        } catch (Exception e) {
+            FMODLog.error("Exception starting virtual voice of " + event.eventName + ": " + e.getMessage());
+            return FMODInstanceRegistry.INVALID_ID;
+        }
+    }
+
+    /**
+     * Create, configure and start one instance and track it in the registry
+     * @param timelineMs Timeline position to start at, 0 for the beginning
+     * @param reservedId Id reserved for the instance on another thread, or INVALID_ID to add a new entry
+     * @return Instance id, or INVALID_ID if failed
+     */
+    static long createInstance(PointerBuffer instancePtr, FMOD_3D_ATTRIBUTES attributes, EventHandle event,
+                               boolean positioned, double x, double y, double z, float volume, float pitch,
+                               int timelineMs, long reservedId) {
+        String eventName = event.eventName;
+        FMODInstanceRegistry instances = FMODSystem.getInstanceRegistry();
+        if (reservedId != FMODInstanceRegistry.INVALID_ID && !instances.contains(reservedId)) {
+            // Stopped before it was started
+            return FMODInstanceRegistry.INVALID_ID;
+        }
+
+        // Get event description (cached after the first lookup)
+        long description = FMODEventCache.resolve(event);
+        if (description == 0) {
+            instances.remove(reservedId);
+            return FMODInstanceRegistry.INVALID_ID;
+        }
+
+        // Reuse a pooled instance of the event, or create one
+        long instance = FMODInstancePool.take(event);
+        boolean pooled = instance != 0;
+        int result;
+        if (!pooled) {
             result = FMODStudio.FMOD_Studio_EventDescription_CreateInstance(description, instancePtr);
 
             if (result != FMOD.FMOD_OK) {
-                System.err.println("[FMOD API] Failed to create instance for: " + eventName + " (error: " + result + ")");
-                return null;
+                FMODLog.error("Failed to create instance for: " + eventName + " (error: " + result + ")");
+                // The description may belong to a bank that went away - look it up again next time
+                event.description = 0;
+                instances.remove(reservedId);
+                return FMODInstanceRegistry.INVALID_ID;
             }
 
-            long instance = instancePtr.get(0);
-
-            // Set 3D position if provided
-            if (position != null) {
-                FMOD_3D_ATTRIBUTES attributes = FMOD_3D_ATTRIBUTES.calloc(stack);
-                attributes.position$().set((float) position.x, (float) position.y, (float) position.z);
-                attributes.velocity().set(0f, 0f, 0f);
-                attributes.forward().set(0f, 0f, 1f);
-                attributes.up().set(0f, 1f, 0f);
-
-                result = FMODStudio.FMOD_Studio_EventInstance_Set3DAttributes(instance, attributes);
-                if (result != FMOD.FMOD_OK) {
-                    System.err.println("[FMOD API] Failed to set 3D attributes for: " + eventName);
-                } else {
-                    System.out.println("[FMOD API] Set 3D position for " + eventName + " at: " +
-                        String.format("(%.1f, %.1f, %.1f)", position.x, position.y, position.z));
-                }
-            } else {
-                System.out.println("[FMOD API] Playing " + eventName + " as 2D sound (no position)");
+            instance = instancePtr.get(0);
+        }
+
+        // Set 3D position if provided
+        if (positioned) {
+            attributes.position$().set((float) x, (float) y, (float) z);
+
+            result = FMODStudio.FMOD_Studio_EventInstance_Set3DAttributes(instance, attributes);
+            if (result != FMOD.FMOD_OK) {
+                FMODLog.error("Failed to set 3D attributes for: " + eventName);
             }
+        }
 
-            // Set volume
-            if (volume != 1.0f) {
-                result = FMODStudio.FMOD_Studio_EventInstance_SetVolume(instance, volume);
-                if (result != FMOD.FMOD_OK) {
-                    System.err.println("[FMOD API] Failed to set volume for: " + eventName);
-                }
+        // Set volume - pooled instances keep the values of their previous playback
+        if (volume != 1.0f || pooled) {
+            result = FMODStudio.FMOD_Studio_EventInstance_SetVolume(instance, volume);
+            if (result != FMOD.FMOD_OK) {
+                FMODLog.error("Failed to set volume for: " + eventName);
             }
+        }
 
-            // Start the event
-            result = FMODStudio.FMOD_Studio_EventInstance_Start(instance);
+        // Set pitch
+        if (pitch != 1.0f || pooled) {
+            result = FMODStudio.FMOD_Studio_EventInstance_SetPitch(instance, pitch);
             if (result != FMOD.FMOD_OK) {
-                System.err.println("[FMOD API] Failed to start event: " + eventName + " (error: " + result + ")");
-                FMODStudio.FMOD_Studio_EventInstance_Release(instance);
-                return null;
+                FMODLog.error("Failed to set pitch for: " + eventName);
             }
+        }
 
-            // Track instance internally only - no external access needed
-            String instanceId = eventName + "_" + System.nanoTime();
-            FMODSystem.getActiveInstances().put(instanceId, instance);
+        // Start the event
+        result = FMODStudio.FMOD_Studio_EventInstance_Start(instance);
+        if (result != FMOD.FMOD_OK) {
+            FMODLog.error("Failed to start event: " + eventName + " (error: " + result + ")");
+            FMODStudio.FMOD_Studio_EventInstance_Release(instance);
+            instances.remove(reservedId);
+            return FMODInstanceRegistry.INVALID_ID;
+        }
 
-            // Return success indicator for fire-and-forget usage
-            return instanceId;
+        // Skip what a promoted virtual voice would already have played
+        if (timelineMs > 0) {
+            result = FMODStudio.FMOD_Studio_EventInstance_SetTimelinePosition(instance, timelineMs);
+            if (result != FMOD.FMOD_OK && FMODLog.isDebugEnabled()) {
+                FMODLog.debug("Failed to set timeline position of " + eventName + " (error: " + result + ")");
+            }
+        }
 
-        } catch (Exception e) {
-            System.err.println("[FMOD API] Exception playing event " + eventName + ": " + e.getMessage());
-            return null;
+        // Track instance internally - the id is a plain long, nothing is allocated
+        long instanceId = reservedId;
+        if (instanceId == FMODInstanceRegistry.INVALID_ID) {
+            instanceId = instances.add(instance, event, positioned, x, y, z, volume);
+        } else if (!instances.attach(reservedId, instance)) {
+            // Stopped while it was being created
+            FMODStudio.FMOD_Studio_EventInstance_Stop(instance, FMODStudio.FMOD_STUDIO_STOP_IMMEDIATE);
+            FMODStudio.FMOD_Studio_EventInstance_Release(instance);
+            return FMODInstanceRegistry.INVALID_ID;
+        }
+        FMODInstanceReaper.watch(instance, instanceId);
+        return instanceId;
+    }
+
+    /**
+     * Convert an instance id to the String form returned by the name-based playEvent methods
+     */
+    private static String toInstanceIdString(long instanceId) {
+        if (instanceId == FMODInstanceRegistry.DROPPED_ID) {
+            return DROPPED_INSTANCE;
         }
+        return instanceId != FMODInstanceRegistry.INVALID_ID ? Long.toHexString(instanceId) : null;
     }
 
-    // stopEvent() removed - FMOD API handles all instance management internally
+    /**
+     * Stop a playing sound immediately
+     * @param instanceId Id returned by playEvent / playEvents
+     */
+    public static void stopEvent(long instanceId) {
+        stopEvent(instanceId, false);
+    }
 
     /**
-     * Load a sound bank from file path
-     * @param bankPath Path to the .bank file (can be absolute path or relative to working directory)
-     * @return true if loaded successfully
+     * Stop a playing sound
+     * @param instanceId Id returned by playEvent / playEvents
+     * @param allowFadeout true to let the event's AHDSR fade-out play
      */
-    public static boolean loadBank(String bankPath) {
+    public static void stopEvent(long instanceId, boolean allowFadeout) {
         if (!isAvailable()) {
-            return false;
+            // A sound queued during startup has only a reservation - dropping it cancels the replay
+            FMODSystem.getInstanceRegistry().remove(instanceId);
+            return;
         }
 
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            PointerBuffer bankPtr = stack.mallocPointer(1);
-            int result = FMODStudio.FMOD_Studio_System_LoadBankFile(
-                FMODSystem.getSystemHandle(),
-                stack.UTF8(bankPath, true),
-                FMODStudio.FMOD_STUDIO_LOAD_BANK_NORMAL,
-                bankPtr
-            );
+        if (FMODAudioThread.isRunning() && FMODAudioThread.submitStop(instanceId, allowFadeout)) {
+            return;
+        }
 
-            if (result == FMOD.FMOD_OK) {
-                System.out.println("[FMOD API] Successfully loaded bank: " + bankPath);
-                return true;
-            } else {
-                System.err.println("[FMOD API] Failed to load bank: " + bankPath + " (error: " + result + ")");
-                return false;
+        long instance = FMODSystem.getInstanceRegistry().remove(instanceId);
+        if (instance != 0) {
+            FMODStudio.FMOD_Studio_EventInstance_Stop(instance,
+                allowFadeout ? FMODStudio.FMOD_STUDIO_STOP_ALLOWFADEOUT : FMODStudio.FMOD_STUDIO_STOP_IMMEDIATE);
+            FMODStudio.FMOD_Studio_EventInstance_Release(instance);
+        }
+    }
+
+    /**
+     * Stop a playing sound
+     * @param instanceId Id string returned by the name-based playEvent overloads
+     * @param allowFadeout true to let the event's AHDSR fade-out play
+     */
+    public static void stopEvent(String instanceId, boolean allowFadeout) {
+        if (instanceId == null) {
+            return;
+        }
+        try {
+            stopEvent(Long.parseUnsignedLong(instanceId, 16), allowFadeout);
+        } catch (NumberFormatException e) {
+            FMODLog.error("Invalid instance id: " + instanceId);
+        }
+    }
+
+    /**
+     * Set a parameter on a playing sound
+     * @param instanceId Id returned by playEvent / playEvents
+     * @param name Parameter name as defined in FMOD Studio
+     * @param value Parameter value
+     */
+    public static void setParameter(long instanceId, String name, float value) {
+        if (!isAvailable()) {
+            return;
+        }
+
+        if (FMODAudioThread.isRunning() && FMODAudioThread.submitParameter(instanceId, name, value)) {
+            return;
+        }
+
+        long instance = FMODSystem.getInstanceRegistry().get(instanceId);
+        if (instance != 0) {
+            int result = FMODStudio.FMOD_Studio_EventInstance_SetParameterByName(instance, name, value, 0);
+            if (result != FMOD.FMOD_OK) {
+                FMODLog.error("Failed to set parameter " + name + " (error: " + result + ")");
             }
-        } catch (Exception e) {
-            System.err.println("[FMOD API] Exception loading bank " + bankPath + ": " + e.getMessage());
-            return false;
         }
     }
 
+    /**
+     * Load a sound bank from file path
+     * @param bankPath Path to the .bank file (can be absolute path or relative to working directory)
+     * @return true if the bank is loaded. false if loading failed, or if an earlier asynchronous load of the
+     *         same bank is still in progress - the reference is taken anyway and the bank becomes usable
+     *         once that load completes
+     */
+    public static boolean loadBank(String bankPath) {
+        String fileName = bankPath.substring(Math.max(bankPath.lastIndexOf('/'), bankPath.lastIndexOf('\\')) + 1);
+        return loadBankWithName(bankPath, fileName);
+    }
+
     /**
      * Load a sound bank from file path with name tracking for reloading
      * @param bankPath Path to the .bank file
      * @param bankName Name to use for tracking (for reloading)
-     * @return true if loaded successfully
+     * @return true if the bank is loaded, false if it failed or is still loading asynchronously
      */
     private static boolean loadBankWithName(String bankPath, String bankName) {
         if (!isAvailable()) {
             return false;
         }
 
+        // A bank that is already loaded (or loading) only gains a reference
+        return FMODBankManager.acquire(bankName,
+            () -> CompletableFuture.completedFuture(loadBankFile(bankPath, bankName))).getNow(false);
+    }
+
+    /**
+     * Load a bank file into FMOD right away, memory-mapped if enabled in config
+     */
+    private static boolean loadBankFile(String bankPath, String bankName) {
+        if (FMODConfig.snapshot().mapBankFiles) {
+            // Let the OS page cache back the bank data instead of FMOD's own copy
+            try {
+                long bankHandle = FMODBankMemory.loadMapped(Path.of(bankPath), bankName);
+                if (bankHandle != 0) {
+                    FMODLog.info("Successfully loaded memory-mapped bank: " + bankPath + " (handle: " + bankHandle + ")");
+                    FMODBankManager.track(bankName, bankHandle);
+                    return true;
+                }
+                return false;
+            } catch (Exception e) {
+                FMODLog.warn("Could not memory-map bank " + bankPath + ", loading it as a file: " + e.getMessage());
+            }
+        }
+
         try (MemoryStack stack = MemoryStack.stackPush()) {
             PointerBuffer bankPtr = stack.mallocPointer(1);
             int result = FMODStudio.FMOD_Studio_System_LoadBankFile(
@@ -239,85 +705,79 @@ public class FMODAPI {
 
             if (result == FMOD.FMOD_OK) {
                 long bankHandle = bankPtr.get(0);
-                System.out.println("[FMOD API] Successfully loaded bank: " + bankPath + " (handle: " + bankHandle + ")");
+                FMODLog.info("Successfully loaded bank: " + bankPath + " (handle: " + bankHandle + ")");
+                FMODBankManager.track(bankName, bankHandle);
                 return true;
             } else {
-                System.err.println("[FMOD API] Failed to load bank: " + bankPath + " (error: " + result + ")");
+                FMODLog.error("Failed to load bank: " + bankPath + " (error: " + result + ")");
                 return false;
             }
         } catch (Exception e) {
-            System.err.println("[FMOD API] Exception loading bank " + bankPath + ": " + e.getMessage());
+            FMODLog.error("Exception loading bank " + bankPath + ": " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Release a bank that was loaded through this API. Banks are reference counted: loading the same bank
+     * twice (e.g. from two mods) needs two unloads before it is actually unloaded.
+     * @param bankName Bank file name (e.g., "Master.bank")
+     * @return true if the bank was unloaded
+     */
+    public static boolean unloadBank(String bankName) {
+        return FMODBankManager.release(bankName);
+    }
+
+    /**
+     * Hot-reload a loaded bank from where it was loaded from, e.g. after rebuilding it in FMOD Studio.
+     * Playing instances of its events stop; event handles pick up the new version automatically.
+     * @param bankName Bank file name (e.g., "Master.bank")
+     * @return Future completing with true once the new version is loaded
+     */
+    public static CompletableFuture<Boolean> reloadBank(String bankName) {
+        if (!isAvailable()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return FMODBankManager.reload(bankName);
+    }
+
     /**
      * Load a sound bank from JAR resource
      * @param modClass A class from the mod's JAR to load resources from
      * @param resourcePath Path to the .bank file within the JAR (e.g., "/assets/modid/sounds/fmod/Master.bank")
-     * @return true if loaded successfully
+     * @return true if the bank is loaded. false if loading failed, or if an earlier asynchronous load of the
+     *         same bank is still in progress - the reference is taken anyway; use loadBankFromResourceAsync()
+     *         to wait for the outcome
      */
     public static boolean loadBankFromResource(Class<?> modClass, String resourcePath) {
         if (!isAvailable()) {
             return false;
         }
 
-        try (InputStream bankStream = modClass.getResourceAsStream(resourcePath)) {
-            if (bankStream == null) {
-                // Try alternative path formats
-                String altPath = resourcePath.startsWith("/") ? resourcePath.substring(1) : "/" + resourcePath;
-                try (InputStream altStream = modClass.getResourceAsStream(altPath)) {
-                    if (altStream == null) {
-                        System.err.println("[FMOD API] Bank resource not found: " + resourcePath + " (also tried: " + altPath + ")");
-                        return false;
-                    }
-                    return loadBankFromStream(altStream, resourcePath);
-                }
-            }
-            return loadBankFromStream(bankStream, resourcePath);
-
-        } catch (Exception e) {
-            System.err.println("[FMOD API] Exception loading bank from resource " + resourcePath + ": " + e.getMessage());
-            return false;
-        }
+        // Remember where the bank comes from so it can be re-read instead of kept in memory
+        String fileName = resourcePath.substring(resourcePath.lastIndexOf('/') + 1);
+        FMODBankSources.register(fileName, modClass, resourcePath);
+        return FMODBankManager.acquire(fileName,
+            () -> CompletableFuture.completedFuture(FMODBankSources.load(fileName))).getNow(false);
     }
 
     /**
-     * Load a bank from an input stream (internal method)
+     * Load a sound bank from JAR resource in the background.
+     * The resource is read on a worker thread and FMOD loads the bank without blocking.
+     * @param modClass A class from the mod's JAR to load resources from
+     * @param resourcePath Path to the .bank file within the JAR
+     * @param sampleData EAGER to load all sample data once the bank has loaded, LAZY to load it on first use
+     * @return Future completing on the game thread with true once the bank has loaded
      */
-    private static boolean loadBankFromStream(InputStream bankStream, String resourcePath) throws Exception {
-        // Read all bytes from the input stream
-        byte[] bankData = bankStream.readAllBytes();
-
-        System.out.println("[FMOD API] Read bank data from resource: " + resourcePath + ", size=" + bankData.length + " bytes");
-
-        // Extract filename for storage key
-        String fileName = resourcePath.substring(resourcePath.lastIndexOf('/') + 1);
-
-        // ALWAYS store bank data for automatic reloading, regardless of current FMOD state
-        FMODSystem.storeBankData(fileName, bankData);
-        System.out.println("[FMOD API] Stored bank data for automatic reloading: " + fileName + " (stored regardless of FMOD state)");
-
-        // Extract to temporary file for FMOD to load
-        java.nio.file.Path tempFile = java.nio.file.Files.createTempFile("fmodapi_" + fileName.replace(".", "_"), ".bank");
-        tempFile.toFile().deleteOnExit();
-
-        try (java.io.FileOutputStream fos = new java.io.FileOutputStream(tempFile.toFile())) {
-            fos.write(bankData);
-        }
-
-        System.out.println("[FMOD API] Extracted bank to temp file: " + tempFile.toAbsolutePath());
-
-        // Load the bank using the file path method (only if FMOD is available)
-        boolean success = loadBankWithName(tempFile.toAbsolutePath().toString(), fileName);
-
-        if (success) {
-            System.out.println("[FMOD API] Successfully loaded bank into FMOD: " + fileName);
-        } else {
-            System.out.println("[FMOD API] Failed to load bank into FMOD (will retry on next FMOD init): " + fileName);
+    public static CompletableFuture<Boolean> loadBankFromResourceAsync(Class<?> modClass, String resourcePath,
+                                                                       FMODBankLoader.SampleData sampleData) {
+        if (!isAvailable()) {
+            return CompletableFuture.completedFuture(false);
         }
 
-        return success;
+        String fileName = resourcePath.substring(resourcePath.lastIndexOf('/') + 1);
+        FMODBankSources.register(fileName, modClass, resourcePath);
+        return FMODBankManager.acquire(fileName, () -> FMODBankLoader.loadAsync(fileName, sampleData));
     }
 
     /**
@@ -328,31 +788,13 @@ public class FMODAPI {
      * @param velocity Listener velocity
      */
     public static void setListenerPosition(Vec3D position, Vec3D forward, Vec3D up, Vec3D velocity) {
-        // Check availability internally - external mods don't need to worry about this
-        if (!isAvailable()) {
-            return; // Silently ignore if FMOD not available
-        }
-
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            FMOD_3D_ATTRIBUTES attrs = FMOD_3D_ATTRIBUTES.malloc(stack);
-            attrs.position$().set((float) position.x, (float) position.y, (float) position.z);
-            attrs.velocity().set((float) velocity.x, (float) velocity.y, (float) velocity.z);
-            attrs.forward().set((float) forward.x, (float) forward.y, (float) forward.z);
-            attrs.up().set((float) up.x, (float) up.y, (float) up.z);
-
-            int result = FMODStudio.FMOD_Studio_System_SetListenerAttributes(
-                FMODSystem.getSystemHandle(), 0, attrs, null);
-
-            if (result != FMOD.FMOD_OK) {
-                System.err.println("[FMOD API] Failed to set listener attributes (error: " + result + ")");
-            }
-        } catch (Exception e) {
-            System.err.println("[FMOD API] Exception setting listener position: " + e.getMessage());
-        }
+        setListenerAttributes(position.x, position.y, position.z, forward.x, forward.y, forward.z,
+            up.x, up.y, up.z, velocity.x, velocity.y, velocity.z);
     }
 
     /**
-     * Set the 3D listener position with separate coordinates (simpler for mods)
+     * Set the 3D listener position with separate coordinates (simpler for mods).
+     * Does not allocate - suitable for per-tick updates.
      * @param posX X position
      * @param posY Y position
      * @param posZ Z position
@@ -366,17 +808,119 @@ public class FMODAPI {
     public static void setListenerPosition(double posX, double posY, double posZ,
                                          double forwardX, double forwardY, double forwardZ,
                                          double velX, double velY, double velZ) {
+        // standard up vector
+        setListenerAttributes(posX, posY, posZ, forwardX, forwardY, forwardZ, 0, 1, 0, velX, velY, velZ);
+    }
+
+    /**
+     * Set the 3D listener attributes. Does not allocate - the values are written into a reusable
+     * native struct (or the audio thread's command ring). Call from the game thread.
+     */
+    public static void setListenerAttributes(double posX, double posY, double posZ,
+                                             double forwardX, double forwardY, double forwardZ,
+                                             double upX, double upY, double upZ,
+                                             double velX, double velY, double velZ) {
         // Check availability internally - external mods don't need to worry about this
         if (!isAvailable()) {
             return; // Silently ignore if FMOD not available
         }
 
-        setListenerPosition(
-            new Vec3D(posX, posY, posZ),
-            new Vec3D(forwardX, forwardY, forwardZ),
-            new Vec3D(0, 1, 0), // standard up vector
-            new Vec3D(velX, velY, velZ)
-        );
+        if (FMODAudioThread.isRunning() && FMODAudioThread.submitListener(
+                (float) posX, (float) posY, (float) posZ,
+                (float) forwardX, (float) forwardY, (float) forwardZ,
+                (float) upX, (float) upY, (float) upZ,
+                (float) velX, (float) velY, (float) velZ)) {
+            return;
+        }
+
+        FMOD_3D_ATTRIBUTES attrs = listenerAttributes;
+        if (attrs == null) {
+            attrs = listenerAttributes = FMOD_3D_ATTRIBUTES.calloc();
+        }
+        attrs.position$().set((float) posX, (float) posY, (float) posZ);
+        attrs.velocity().set((float) velX, (float) velY, (float) velZ);
+        attrs.forward().set((float) forwardX, (float) forwardY, (float) forwardZ);
+        attrs.up().set((float) upX, (float) upY, (float) upZ);
+
+        int result = FMODStudio.FMOD_Studio_System_SetListenerAttributes(
+            FMODSystem.getSystemHandle(), 0, attrs, null);
+
+        if (result != FMOD.FMOD_OK) {
+            FMODLog.error("Failed to set listener attributes (error: " + result + ")");
+        }
+    }
+
+    /**
+     * Move a playing sound. Does not allocate - suitable for per-tick updates of many moving emitters.
+     * Call from the game thread.
+     * @param instanceId Id returned by playEvent / playEvents
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @param z Z coordinate
+     * @param velX Velocity X in blocks per second (used for doppler)
+     * @param velY Velocity Y
+     * @param velZ Velocity Z
+     */
+    public static void set3DAttributes(long instanceId, double x, double y, double z,
+                                       double velX, double velY, double velZ) {
+        if (!isAvailable()) {
+            return;
+        }
+
+        if (FMODAudioThread.isRunning() && FMODAudioThread.submit3DAttributes(instanceId,
+                (float) x, (float) y, (float) z, (float) velX, (float) velY, (float) velZ)) {
+            return;
+        }
+
+        long instance = FMODSystem.getInstanceRegistry().move(instanceId, x, y, z);
+        if (instance == 0) {
+            return;
+        }
+
+        FMOD_3D_ATTRIBUTES attrs = emitterAttributes;
+        if (attrs == null) {
+            attrs = emitterAttributes = FMOD_3D_ATTRIBUTES.calloc();
+            attrs.forward().set(0f, 0f, 1f);
+            attrs.up().set(0f, 1f, 0f);
+        }
+        attrs.position$().set((float) x, (float) y, (float) z);
+        attrs.velocity().set((float) velX, (float) velY, (float) velZ);
+
+        int result = FMODStudio.FMOD_Studio_EventInstance_Set3DAttributes(instance, attrs);
+        if (result != FMOD.FMOD_OK && FMODLog.isDebugEnabled()) {
+            FMODLog.debug("Failed to set 3D attributes of instance " + Long.toHexString(instanceId) + " (error: " + result + ")");
+        }
+    }
+
+    /**
+     * Keep a playing sound attached to an entity until either is gone. The position is sampled every tick,
+     * and FMOD is only updated when the entity has actually moved. The sound is scoped to the entity, so it
+     * is released when the entity leaves the level.
+     * @param instanceId Id returned by playEvent / playEvents
+     * @param entity Entity to follow
+     */
+    public static void attachToEntity(long instanceId, Entity entity) {
+        attachEmitter(instanceId, FMODEmitterTracker.entity(entity));
+        scopeToEntity(instanceId, entity);
+    }
+
+    /**
+     * Keep a playing sound attached to an arbitrary moving position (see {@link FMODEmitterTracker})
+     * @param instanceId Id returned by playEvent / playEvents
+     * @param source Position source, sampled once per tick on the game thread
+     */
+    public static void attachEmitter(long instanceId, FMODEmitterTracker.PositionSource source) {
+        if (!isAvailable()) {
+            return;
+        }
+        FMODEmitterTracker.bind(instanceId, source);
+    }
+
+    /**
+     * Stop moving a sound attached with attachToEntity / attachEmitter; it stays where it was last placed
+     */
+    public static void detachEmitter(long instanceId) {
+        FMODEmitterTracker.unbind(instanceId);
     }
 
     // updateInstancePosition() removed - use setListenerPosition() for 3D audio updates
@@ -386,7 +930,7 @@ public class FMODAPI {
      * WARNING: This method is for internal FMOD API use only!
      */
     public static int getActiveInstanceCount() {
-        return FMODSystem.getActiveInstances().size();
+        return FMODSystem.getInstanceRegistry().size();
     }
 
     /**
@@ -397,6 +941,137 @@ public class FMODAPI {
         return FMODSystem.getMaxInstances();
     }
 
+    /**
+     * Find the sounds playing within a radius of a point
+     * @param idsOut Receives the instance ids, in no particular order
+     * @return Number of ids written (at most idsOut.length)
+     */
+    public static int getSoundsNear(double x, double y, double z, double radius, long[] idsOut) {
+        return isAvailable() ? FMODSystem.getInstanceRegistry().withinRadius(x, y, z, radius, idsOut) : 0;
+    }
+
+    /**
+     * Find the sounds playing closest to a point
+     * @param idsOut Receives up to idsOut.length instance ids, nearest first
+     * @return Number of ids written
+     */
+    public static int getNearestSounds(double x, double y, double z, long[] idsOut) {
+        return isAvailable() ? FMODSystem.getInstanceRegistry().nearest(x, y, z, idsOut) : 0;
+    }
+
+    /**
+     * Find the sounds playing in a chunk column
+     * @param idsOut Receives the instance ids
+     * @return Number of ids written (at most idsOut.length)
+     */
+    public static int getSoundsInChunk(int chunkX, int chunkZ, long[] idsOut) {
+        return isAvailable() ? FMODSystem.getInstanceRegistry().inChunk(chunkX, chunkZ, idsOut) : 0;
+    }
+
+    /**
+     * Stop the chunk-scoped sounds in a chunk column (positioned sounds, unless their scope was changed).
+     * Called automatically when a chunk unloads on the client.
+     * @param allowFadeout true to let the events' fade-out play
+     * @return Number of sounds stopped
+     */
+    public static int stopSoundsInChunk(int chunkX, int chunkZ, boolean allowFadeout) {
+        if (!isAvailable()) {
+            return 0;
+        }
+
+        FMODInstanceRegistry instances = FMODSystem.getInstanceRegistry();
+        int stopped = 0;
+        synchronized (instances) {
+            // Reuses the registry's scratch buffer - stopping only queues or issues FMOD calls
+            long[] handles = instances.removedHandles;
+            int removed;
+            do {
+                removed = instances.removeChunk(chunkX, chunkZ, handles);
+                stopRemoved(handles, removed, allowFadeout);
+                stopped += removed;
+            } while (removed == handles.length);
+        }
+        return stopped;
+    }
+
+    /**
+     * Change when a playing sound is released automatically (see {@link FMODScope}).
+     * For ENTITY scope use scopeToEntity().
+     * @param instanceId Id returned by playEvent / playEvents
+     */
+    public static void setScope(long instanceId, FMODScope scope) {
+        if (scope == FMODScope.ENTITY) {
+            throw new IllegalArgumentException("ENTITY scope needs an entity - use scopeToEntity()");
+        }
+        if (isAvailable()) {
+            FMODSystem.getInstanceRegistry().setScope(instanceId, scope, 0);
+        }
+    }
+
+    /**
+     * Release a playing sound when an entity leaves the level (death, despawn, unload).
+     * Done automatically by attachToEntity().
+     * @param instanceId Id returned by playEvent / playEvents
+     */
+    public static void scopeToEntity(long instanceId, Entity entity) {
+        if (isAvailable()) {
+            FMODSystem.getInstanceRegistry().setScope(instanceId, FMODScope.ENTITY, entity.getId());
+        }
+    }
+
+    /**
+     * Stop every sound of a scope
+     * @param allowFadeout true to let the events' fade-out play
+     * @return Number of sounds stopped
+     */
+    public static int releaseScope(FMODScope scope, boolean allowFadeout) {
+        return releaseScope(scope, -1, allowFadeout);
+    }
+
+    /**
+     * Stop every sound scoped to an entity
+     * @param entityId Entity.getId() of the owner
+     * @param allowFadeout true to let the events' fade-out play
+     * @return Number of sounds stopped
+     */
+    public static int releaseEntity(int entityId, boolean allowFadeout) {
+        return releaseScope(FMODScope.ENTITY, entityId, allowFadeout);
+    }
+
+    private static int releaseScope(FMODScope scope, long owner, boolean allowFadeout) {
+        if (!isAvailable()) {
+            return 0;
+        }
+
+        FMODInstanceRegistry instances = FMODSystem.getInstanceRegistry();
+        if (instances.scopeSize(scope) == 0) {
+            return 0;
+        }
+
+        int stopped = 0;
+        synchronized (instances) {
+            // Reuses the registry's scratch buffer - stopping only queues or issues FMOD calls
+            long[] handles = instances.removedHandles;
+            int removed;
+            do {
+                removed = instances.removeScope(scope, owner, handles);
+                stopRemoved(handles, removed, allowFadeout);
+                stopped += removed;
+            } while (removed == handles.length);
+        }
+        return stopped;
+    }
+
+    // Instances already removed from the registry
+    private static void stopRemoved(long[] handles, int count, boolean allowFadeout) {
+        for (int i = 0; i < count; i++) {
+            // 0 = not created yet on the audio thread, which then drops it
+            if (handles[i] != 0) {
+                FMODAudioThread.stopAndRelease(handles[i], allowFadeout);
+            }
+        }
+    }
+
     /**
      * INTERNAL: Stop all currently playing sounds
      * WARNING: This method is for internal FMOD API use only!
@@ -406,13 +1081,14 @@ public class FMODAPI {
             return;
         }
 
-        Map<String, Long> instances = FMODSystem.getActiveInstances();
-        for (String instanceId : instances.keySet().toArray(new String[0])) {
-            Long instance = instances.remove(instanceId);
-            if (instance != null) {
+        FMODAudioLod.clear();
+
+        FMODInstanceRegistry instances = FMODSystem.getInstanceRegistry();
+        for (int slot = 0, end = instances.highWater(); slot < end; slot++) {
+            long instance = instances.removeAt(slot);
+            if (instance != 0) {
                 try {
-                    FMODStudio.FMOD_Studio_EventInstance_Stop(instance, FMODStudio.FMOD_STUDIO_STOP_IMMEDIATE);
-                    FMODStudio.FMOD_Studio_EventInstance_Release(instance);
+                    FMODAudioThread.stopAndRelease(instance, false);
                 } catch (Exception e) {
                     // Ignore cleanup errors during shutdown
                 }
@@ -421,41 +1097,43 @@ public class FMODAPI {
     }
 
     /**
-     * Pause all currently playing FMOD sounds.
-     * Called when the game is paused (e.g., ESC menu).
+     * Pause all FMOD sounds by pausing the master channel group - one call regardless of how many
+     * instances are playing. Sounds started while paused begin on resume.
+     * Called when the game is paused (e.g., ESC menu). Does nothing if already paused.
      */
     public static void pauseAllSounds() {
-        if (!isAvailable()) {
-            return;
-        }
-
-        Map<String, Long> instances = FMODSystem.getActiveInstances();
-        for (Long instance : instances.values()) {
-            try {
-                FMODStudio.FMOD_Studio_EventInstance_SetPaused(instance, 1); // 1 = true in FMOD
-            } catch (Exception e) {
-                // Ignore errors during pause
-            }
-        }
+        setAllPaused(true);
     }
 
     /**
-     * Resume all currently paused FMOD sounds.
-     * Called when the game is unpaused.
+     * Resume all FMOD sounds paused by pauseAllSounds().
+     * Called when the game is unpaused. Does nothing if not paused - cheap to call every tick.
      */
     public static void resumeAllSounds() {
+        setAllPaused(false);
+    }
+
+    private static void setAllPaused(boolean paused) {
         if (!isAvailable()) {
             return;
         }
 
-        Map<String, Long> instances = FMODSystem.getActiveInstances();
-        for (Long instance : instances.values()) {
-            try {
-                FMODStudio.FMOD_Studio_EventInstance_SetPaused(instance, 0); // 0 = false in FMOD
-            } catch (Exception e) {
-                // Ignore errors during resume
-            }
+        long system = FMODSystem.getSystemHandle();
+        // A new FMOD system starts unpaused - state of an old one doesn't count
+        if ((pausedSystem == system) == paused) {
+            return;
+        }
+
+        long group = masterChannelGroup(system);
+        if (group == 0) {
+            return;
+        }
+        int result = FMOD.FMOD_ChannelGroup_SetPaused(group, paused ? 1 : 0);
+        if (result != FMOD.FMOD_OK) {
+            FMODLog.error("Failed to " + (paused ? "pause" : "resume") + " master channel group: " + result);
+            return;
         }
+        pausedSystem = paused ? system : 0;
     }
 
     /**
@@ -467,31 +1145,42 @@ public class FMODAPI {
             return;
         }
 
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            // Get the core system for volume control
-            PointerBuffer coreSystemPtr = stack.mallocPointer(1);
-            int result = FMODStudio.FMOD_Studio_System_GetCoreSystem(FMODSystem.getSystemHandle(), coreSystemPtr);
-
-            if (result == FMOD.FMOD_OK) {
-                long coreSystem = coreSystemPtr.get(0);
+        long group = masterChannelGroup(FMODSystem.getSystemHandle());
+        if (group == 0) {
+            return;
+        }
+        int result = FMOD.FMOD_ChannelGroup_SetVolume(group, Math.max(0.0f, Math.min(1.0f, volume)));
+        if (result != FMOD.FMOD_OK) {
+            FMODLog.error("Failed to set master volume: " + result);
+        }
+    }
 
-                // Set master volume on the core system using the master channel group
-                PointerBuffer masterGroupPtr = stack.mallocPointer(1);
-                result = FMOD.FMOD_System_GetMasterChannelGroup(coreSystem, masterGroupPtr);
+    /**
+     * Master channel group of the core system, looked up once per Studio system
+     * @return Channel group handle, or 0 if it could not be retrieved
+     */
+    private static long masterChannelGroup(long system) {
+        if (masterGroupSystem == system && masterGroup != 0) {
+            return masterGroup;
+        }
 
-                if (result == FMOD.FMOD_OK) {
-                    long masterGroup = masterGroupPtr.get(0);
-                    result = FMOD.FMOD_ChannelGroup_SetVolume(masterGroup, Math.max(0.0f, Math.min(1.0f, volume)));
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            PointerBuffer pointer = stack.mallocPointer(1);
+            int result = FMODStudio.FMOD_Studio_System_GetCoreSystem(system, pointer);
+            if (result != FMOD.FMOD_OK) {
+                FMODLog.error("Failed to get core system: " + result);
+                return 0;
+            }
 
-                    if (result != FMOD.FMOD_OK) {
-                        System.err.println("[FMOD API] Failed to set master volume: " + result);
-                    }
-                } else {
-                    System.err.println("[FMOD API] Failed to get master channel group: " + result);
-                }
+            result = FMOD.FMOD_System_GetMasterChannelGroup(pointer.get(0), pointer);
+            if (result != FMOD.FMOD_OK) {
+                FMODLog.error("Failed to get master channel group: " + result);
+                return 0;
             }
-        } catch (Exception e) {
-            System.err.println("[FMOD API] Exception setting master volume: " + e.getMessage());
+
+            masterGroup = pointer.get(0);
+            masterGroupSystem = system;
+            return masterGroup;
         }
     }
 
@@ -507,6 +1196,169 @@ public class FMODAPI {
         return FMODSystem.registerBank(modClass, resourcePath);
     }
 
+    /**
+     * Register a bank to be loaded automatically when FMOD initializes, choosing when its sample data loads.
+     * Use LAZY for large banks (e.g. music) so they don't hold sample memory until first played.
+     *
+     * @param modClass Class from the mod (for resource loading)
+     * @param resourcePath Path to bank within mod JAR
+     * @param sampleData When to load the bank's sample data
+     * @return true if registered successfully (always returns true)
+     */
+    public static boolean registerBank(Class<?> modClass, String resourcePath, FMODBankLoader.SampleData sampleData) {
+        return FMODSystem.registerBank(modClass, resourcePath, sampleData);
+    }
+
+    /**
+     * Opaque handle to an FMOD event, obtained from resolveEvent().
+     * Keep it around and pass it to playEvent to skip the event path lookup on every call.
+     */
+    public static final class EventHandle {
+        final String eventName;
+        volatile long description;
+
+        // Description metadata, cached when the description is resolved
+        volatile boolean oneshot;
+        volatile int lengthMs;
+        volatile float maxDistance; // 0 for 2D events
+
+        // Bank generations of the last failed lookup and of its error log, owned by FMODEventCache
+        volatile int missingGeneration = -1;
+        volatile int loggedGeneration = -1;
+
+        // Voice stealing priority - higher values are stolen last
+        volatile int priority;
+
+        // Per-tick spawn throttling, owned by FMODVoiceLimiter
+        long spawnTick = -1;
+        int spawnCount;
+
+        // Idle instances for reuse, owned by FMODInstancePool
+        FMODInstancePool.Pool pool;
+
+        EventHandle(String eventName) {
+            this.eventName = eventName;
+        }
+
+        public String getEventName() {
+            return eventName;
+        }
+
+        /**
+         * Set the voice stealing priority of this event. When the instance limit is reached,
+         * instances of lower priority events are stolen first.
+         * @param priority Priority (default 0, higher = more important)
+         * @return this handle
+         */
+        public EventHandle setPriority(int priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        /**
+         * @return true if the event description is currently cached
+         */
+        public boolean isResolved() {
+            return description != 0;
+        }
+
+        @Override
+        public String toString() {
+            return "EventHandle{" + eventName + (description != 0 ? "" : ", unresolved") + "}";
+        }
+    }
+
+    /**
+     * Reusable builder for playEvents(). Fill it during a tick, submit once, clear and reuse -
+     * its arrays only grow, so steady-state use does not allocate.
+     */
+    public static final class PlaybackBatch {
+        private EventHandle[] events;
+        private double[] positions;
+        private float[] volumes;
+        private float[] pitches;
+        private long[] instanceIds;
+        private int size;
+
+        public PlaybackBatch() {
+            this(64);
+        }
+
+        public PlaybackBatch(int initialCapacity) {
+            int capacity = Math.max(1, initialCapacity);
+            events = new EventHandle[capacity];
+            positions = new double[capacity * 3];
+            volumes = new float[capacity];
+            pitches = new float[capacity];
+            instanceIds = new long[capacity];
+        }
+
+        /**
+         * Queue a positioned sound
+         * @return index of the entry, for getInstanceId()
+         */
+        public int add(EventHandle event, double x, double y, double z, float volume, float pitch) {
+            if (size == events.length) {
+                grow();
+            }
+            events[size] = event;
+            positions[size * 3] = x;
+            positions[size * 3 + 1] = y;
+            positions[size * 3 + 2] = z;
+            volumes[size] = volume;
+            pitches[size] = pitch;
+            return size++;
+        }
+
+        /**
+         * Queue a 2D sound
+         * @return index of the entry, for getInstanceId()
+         */
+        public int add2D(EventHandle event, float volume, float pitch) {
+            return add(event, Double.NaN, 0, 0, volume, pitch);
+        }
+
+        /**
+         * Play every queued sound
+         * @return Number of sounds that were started
+         */
+        public int submit() {
+            return playEvents(events, positions, volumes, pitches, size, instanceIds);
+        }
+
+        /**
+         * Instance id of an entry after submit(): DROPPED_ID if FMOD dropped it on purpose, 0 if it failed
+         */
+        public long getInstanceId(int index) {
+            return instanceIds[index];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Forget all queued entries, keeping the allocated capacity
+         */
+        public void clear() {
+            Arrays.fill(events, 0, size, null);
+            size = 0;
+        }
+
+        private void grow() {
+            int capacity = events.length * 2;
+            events = Arrays.copyOf(events, capacity);
+            positions = Arrays.copyOf(positions, capacity * 3);
+            volumes = Arrays.copyOf(volumes, capacity);
+            pitches = Arrays.copyOf(pitches, capacity);
+            instanceIds = Arrays.copyOf(instanceIds, capacity);
+        }
+    }
+
     /**
      * Simple 3D vector class for positions and directions
      */
@@ -19,19 +19,19 @@ public class FMODAPIClient {
         // Allows NeoForge to create a config screen for this mod's configs.
         // The config screen is accessed by going to the Mods screen > clicking on your mod > clicking on config.
         container.registerExtensionPoint(IConfigScreenFactory.class, ConfigurationScreen::new);
-        System.out.println("[FMOD API] Config screen factory registered for client");
+        FMODLog.debug("Config screen factory registered for client");
     }
 
     @SubscribeEvent
     static void onClientSetup(FMLClientSetupEvent event) {
         // Client setup for FMOD API
-        System.out.println("[FMOD API] Client setup started");
+        FMODLog.debug("Client setup started");
 
         // Initialize Minecraft integration after client setup
         event.enqueueWork(() -> {
             FMODMinecraftIntegration.initialize();
         });
 
-        System.out.println("[FMOD API] Client setup completed");
+        FMODLog.debug("Client setup completed");
     }
 }
\ No newline at end of file
@@ -22,19 +22,19 @@ import net.neoforged.fml.common.EventBusSubscriber;
 public class FMODAPIMain {
 
     static {
-        System.out.println("[FMOD API] Static block - Class being loaded...");
+        FMODLog.debug("Static block - Class being loaded...");
     }
 
     public FMODAPIMain(IEventBus modEventBus, ModContainer modContainer) {
-        // FMOD Attribution (Required by FMOD License)
-        System.out.println("=====================================");
-        System.out.println("FMOD API Mod - Audio powered by FMOD Studio");
-        System.out.println("FMOD Studio, copyright © Firelight Technologies Pty Ltd, 1994-2024");
-        System.out.println("FMOD License: https://www.fmod.com/legal");
-        System.out.println("=====================================");
+        // FMOD Attribution (Required by FMOD License) - info level is always enabled
+        FMODLog.info("=====================================");
+        FMODLog.info("FMOD API Mod - Audio powered by FMOD Studio");
+        FMODLog.info("FMOD Studio, copyright © Firelight Technologies Pty Ltd, 1994-2024");
+        FMODLog.info("FMOD License: https://www.fmod.com/legal");
+        FMODLog.info("=====================================");
 
         // Debug logging
-        System.out.println("[FMOD API] Constructor called - initializing mod...");
+        FMODLog.debug("Constructor called - initializing mod...");
 
         // Register setup event
         modEventBus.addListener(this::commonSetup);
@@ -44,24 +44,28 @@ public class FMODAPIMain {
             modEventBus.addListener(this::clientSetup);
         }
 
-        System.out.println("[FMOD API] Constructor starting...");
+        FMODLog.debug("Constructor starting...");
 
         // Register config
         modContainer.registerConfig(ModConfig.Type.COMMON, FMODConfig.SPEC);
 
-        System.out.println("[FMOD API] Constructor completed - FMOD init will happen in commonSetup");
+        FMODLog.debug("Constructor completed - FMOD init will happen in commonSetup");
     }
 
 
     private void commonSetup(final FMLCommonSetupEvent event) {
-        System.out.println("[FMOD API] Common setup called");
+        FMODLog.debug("Common setup called");
         event.enqueueWork(() -> {
-            System.out.println("[FMOD API] Common setup - initializing FMOD system...");
+            FMODLog.info("Common setup - initializing FMOD system...");
 
-            // Initialize FMOD system
-            FMODSystem.init();
+            // Initialize FMOD system - in the background if enabled, so mod loading continues meanwhile
+            if (FMODStartup.isAsyncEnabled()) {
+                FMODStartup.begin(FMODSystem::init);
+            } else {
+                FMODSystem.init();
+            }
 
-            System.out.println("[FMOD API] Common setup complete");
+            FMODLog.debug("Common setup complete");
         });
     }
 
@@ -0,0 +1,173 @@
+package com.fmodapi;
+
+import java.util.Arrays;
+
+/**
+ * Distance-based culling in front of instance creation.
+ *
+ * A positioned sound whose emitter lies beyond its event's max distance (as set in FMOD Studio) from the
+ * listener can't be heard, so no native instance is created for it. Culled one-shots can be kept as
+ * virtual voices - plain entries remembering event, position and start time - that turn into real
+ * instances if the listener comes within range before the one-shot would have ended. The instance then
+ * starts at the timeline position the sound would have reached. Looping events are never culled: they
+ * might become audible at any time and need an instance id the caller can stop.
+ *
+ * Virtual voices are stored in parallel primitive arrays and checked once per tick. Sounds may be played
+ * (and culled) from any thread, so the arrays and counters are guarded by the class lock; sounds that
+ * aren't culled never take it.
+ */
+public class FMODAudioLod {
+
+    private static final int MAX_VIRTUAL_VOICES = 1024;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static FMODAPI.EventHandle[] events = new FMODAPI.EventHandle[INITIAL_CAPACITY];
+    private static double[] posX = new double[INITIAL_CAPACITY];
+    private static double[] posY = new double[INITIAL_CAPACITY];
+    private static double[] posZ = new double[INITIAL_CAPACITY];
+    private static float[] volumes = new float[INITIAL_CAPACITY];
+    private static float[] pitches = new float[INITIAL_CAPACITY];
+    private static long[] startTimes = new long[INITIAL_CAPACITY];
+    private static int count = 0;
+
+    private static long culledCount = 0;
+    private static long promotedCount = 0;
+
+    /**
+     * Decide whether a new sound is too far away to be heard, and if so drop it or keep it as a virtual voice
+     * @return true if the sound was culled - no instance should be created
+     */
+    static boolean cull(FMODAPI.EventHandle event, boolean positioned, double x, double y, double z,
+                        float volume, float pitch) {
+        if (!positioned || !FMODConfig.snapshot().distanceCulling || isInRange(event, x, y, z)) {
+            return false;
+        }
+
+        synchronized (FMODAudioLod.class) {
+            culledCount++;
+            if (FMODConfig.snapshot().virtualVoices && event.lengthMs > 0 && count < MAX_VIRTUAL_VOICES) {
+                addVirtual(event, x, y, z, volume, pitch);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Promote virtual voices the listener has come close to and drop those whose sound would have ended.
+     * Called once per tick from FMODSystem.update().
+     */
+    static synchronized void update() {
+        if (count == 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        for (int i = count - 1; i >= 0; i--) {
+            FMODAPI.EventHandle event = events[i];
+            long elapsedMs = (now - startTimes[i]) / 1_000_000L;
+            if (elapsedMs >= event.lengthMs || event.description == 0) {
+                // Over, or its bank went away
+                removeAt(i);
+            } else if (isInRange(event, posX[i], posY[i], posZ[i])) {
+                double x = posX[i];
+                double y = posY[i];
+                double z = posZ[i];
+                float volume = volumes[i];
+                float pitch = pitches[i];
+                removeAt(i);
+                // Played through the regular path - it is in range, so it isn't culled again
+                long instanceId = FMODAPI.startPromoted(event, x, y, z, volume, pitch, (int) elapsedMs);
+                if (instanceId != FMODInstanceRegistry.INVALID_ID && instanceId != FMODInstanceRegistry.DROPPED_ID) {
+                    promotedCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop every virtual voice (all sounds stopped, world unloaded, FMOD shutdown)
+     */
+    static synchronized void clear() {
+        Arrays.fill(events, 0, count, null);
+        count = 0;
+    }
+
+    /**
+     * Number of virtual voices waiting for the listener
+     */
+    public static synchronized int getVirtualCount() {
+        return count;
+    }
+
+    /**
+     * Number of sounds culled by distance since startup
+     */
+    public static synchronized long getCulledCount() {
+        return culledCount;
+    }
+
+    /**
+     * Number of virtual voices that became real instances since startup
+     */
+    public static synchronized long getPromotedCount() {
+        return promotedCount;
+    }
+
+    /**
+     * Whether an emitter is within its event's max distance of the listener. Events that aren't 3D, aren't
+     * one-shots or whose metadata isn't known yet count as in range, as do all sounds before the listener is known.
+     */
+    private static boolean isInRange(FMODAPI.EventHandle event, double x, double y, double z) {
+        if (event.description == 0 && FMODEventCache.resolve(event, false) == 0) {
+            return true; // Unknown event - let instance creation report it
+        }
+        float maxDistance = event.maxDistance;
+        double listenerX = FMODListenerTracker.getListenerX();
+        if (!event.oneshot || maxDistance <= 0 || Double.isNaN(listenerX)) {
+            return true;
+        }
+
+        double dx = x - listenerX;
+        double dy = y - FMODListenerTracker.getListenerY();
+        double dz = z - FMODListenerTracker.getListenerZ();
+        return dx * dx + dy * dy + dz * dz <= (double) maxDistance * maxDistance;
+    }
+
+    private static void addVirtual(FMODAPI.EventHandle event, double x, double y, double z, float volume, float pitch) {
+        if (count == events.length) {
+            grow();
+        }
+        int i = count++;
+        events[i] = event;
+        posX[i] = x;
+        posY[i] = y;
+        posZ[i] = z;
+        volumes[i] = volume;
+        pitches[i] = pitch;
+        startTimes[i] = System.nanoTime();
+    }
+
+    // Swap-remove - order doesn't matter
+    private static void removeAt(int i) {
+        int last = --count;
+        events[i] = events[last];
+        posX[i] = posX[last];
+        posY[i] = posY[last];
+        posZ[i] = posZ[last];
+        volumes[i] = volumes[last];
+        pitches[i] = pitches[last];
+        startTimes[i] = startTimes[last];
+        events[last] = null;
+    }
+
+    private static void grow() {
+        int capacity = events.length * 2;
+        events = Arrays.copyOf(events, capacity);
+        posX = Arrays.copyOf(posX, capacity);
+        posY = Arrays.copyOf(posY, capacity);
+        posZ = Arrays.copyOf(posZ, capacity);
+        volumes = Arrays.copyOf(volumes, capacity);
+        pitches = Arrays.copyOf(pitches, capacity);
+        startTimes = Arrays.copyOf(startTimes, capacity);
+    }
+}
@@ -0,0 +1,368 @@
+package com.fmodapi;
+
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.fmod.FMOD;
+import org.lwjgl.fmod.FMODStudio;
+import org.lwjgl.fmod.FMOD_3D_ATTRIBUTES;
+import org.lwjgl.system.MemoryUtil;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Optional dedicated audio thread.
+ *
+ * When enabled, the thread owns all per-sound FMOD work: play, stop, parameter and listener calls
+ * made through FMODAPI are pushed into a lock-free command ring and executed here. The thread also
+ * releases finished instances and runs FMOD_Studio_System_Update (and with it the mixer) at its own
+ * fixed rate, so the game thread never blocks on native audio work. Queued commands are executed
+ * right before each update, which is the earliest point FMOD could act on them anyway.
+ */
+public class FMODAudioThread {
+
+    private static final int OP_PLAY = 1;
+    private static final int OP_STOP = 2;
+    private static final int OP_RELEASE_INSTANCE = 3;
+    private static final int OP_SET_PARAMETER = 4;
+    private static final int OP_SET_LISTENER = 5;
+    private static final int OP_SET_3D_ATTRIBUTES = 6;
+
+    private static final int QUEUE_CAPACITY = 4096;
+
+    private static final FMODCommandQueue commands = new FMODCommandQueue(QUEUE_CAPACITY);
+    private static volatile Thread thread;
+    // True until the thread has exited - the game thread must not reap or update FMOD before that
+    private static volatile boolean running = false;
+    private static volatile boolean stopRequested = false;
+
+    /**
+     * @return true if FMOD calls are currently routed through the audio thread
+     */
+    public static boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start the audio thread if it is enabled in config, or stop it if it has been disabled
+     */
+    static synchronized void applyConfig() {
+        boolean enabled = FMODConfig.snapshot().audioThread;
+
+        if (enabled && !running && FMODSystem.isInitialized()) {
+            start();
+        } else if (!enabled && running) {
+            stop();
+        }
+    }
+
+    private static void start() {
+        commands.open();
+        stopRequested = false;
+        running = true;
+        Thread audioThread = new Thread(FMODAudioThread::run, "FMOD Audio");
+        audioThread.setDaemon(true);
+        thread = audioThread;
+        audioThread.start();
+        FMODLog.info("Audio thread started");
+    }
+
+    /**
+     * Stop the audio thread after it has executed every queued command. Blocks until it exits -
+     * the closed ring bounds what is left, and FMOD must not be updated or released while it runs.
+     */
+    static synchronized void stop() {
+        Thread audioThread = thread;
+        if (audioThread == null) {
+            return;
+        }
+
+        // From here on submits fail and callers run FMOD calls themselves; whatever was claimed
+        // before is executed by the audio thread on its way out
+        commands.close();
+        stopRequested = true;
+        LockSupport.unpark(audioThread);
+
+        boolean interrupted = false;
+        while (audioThread.isAlive()) {
+            try {
+                audioThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        running = false;
+        thread = null;
+        FMODLog.info("Audio thread stopped");
+    }
+
+    /**
+     * Queue creation of an instance for an id already reserved in the registry
+     * @param timelineMs Timeline position to start at, 0 for the beginning
+     * @return false if the queue is full - the caller should play the sound synchronously
+     */
+    static boolean submitPlay(long instanceId, FMODAPI.EventHandle event, boolean positioned,
+                              double x, double y, double z, float volume, float pitch, int timelineMs) {
+        long position = commands.claim();
+        if (position < 0) {
+            return false;
+        }
+
+        int index = commands.index(position);
+        int arg = index * FMODCommandQueue.ARG_STRIDE;
+        commands.ops[index] = OP_PLAY;
+        commands.ids[index] = instanceId;
+        commands.refs[index] = event;
+        commands.args[arg] = positioned ? 1f : 0f;
+        commands.args[arg + 1] = (float) x;
+        commands.args[arg + 2] = (float) y;
+        commands.args[arg + 3] = (float) z;
+        commands.args[arg + 4] = volume;
+        commands.args[arg + 5] = pitch;
+        commands.args[arg + 6] = timelineMs;
+        commands.publish(position);
+        return true;
+    }
+
+    /**
+     * Stop and release a native instance that is no longer tracked in the registry.
+     * Runs on the audio thread when it is active, otherwise immediately.
+     */
+    static void stopAndRelease(long instance, boolean allowFadeout) {
+        if (running && submit(OP_RELEASE_INSTANCE, instance, null, allowFadeout ? 1f : 0f)) {
+            return;
+        }
+        FMODStudio.FMOD_Studio_EventInstance_Stop(instance,
+            allowFadeout ? FMODStudio.FMOD_STUDIO_STOP_ALLOWFADEOUT : FMODStudio.FMOD_STUDIO_STOP_IMMEDIATE);
+        FMODStudio.FMOD_Studio_EventInstance_Release(instance);
+    }
+
+    /**
+     * Queue a stop of a tracked instance
+     * @return false if the queue is full
+     */
+    static boolean submitStop(long instanceId, boolean allowFadeout) {
+        return submit(OP_STOP, instanceId, null, allowFadeout ? 1f : 0f);
+    }
+
+    /**
+     * Queue a parameter change on a tracked instance
+     * @return false if the queue is full
+     */
+    static boolean submitParameter(long instanceId, String name, float value) {
+        return submit(OP_SET_PARAMETER, instanceId, name, value);
+    }
+
+    /**
+     * Queue a listener update
+     * @return false if the queue is full
+     */
+    static boolean submitListener(float posX, float posY, float posZ,
+                                  float forwardX, float forwardY, float forwardZ,
+                                  float upX, float upY, float upZ,
+                                  float velX, float velY, float velZ) {
+        long position = commands.claim();
+        if (position < 0) {
+            return false;
+        }
+
+        int index = commands.index(position);
+        int arg = index * FMODCommandQueue.ARG_STRIDE;
+        float[] args = commands.args;
+        commands.ops[index] = OP_SET_LISTENER;
+        args[arg] = posX;
+        args[arg + 1] = posY;
+        args[arg + 2] = posZ;
+        args[arg + 3] = forwardX;
+        args[arg + 4] = forwardY;
+        args[arg + 5] = forwardZ;
+        args[arg + 6] = upX;
+        args[arg + 7] = upY;
+        args[arg + 8] = upZ;
+        args[arg + 9] = velX;
+        args[arg + 10] = velY;
+        args[arg + 11] = velZ;
+        commands.publish(position);
+        return true;
+    }
+
+    /**
+     * Queue a position and velocity update of a tracked instance
+     * @return false if the queue is full
+     */
+    static boolean submit3DAttributes(long instanceId, float x, float y, float z, float velX, float velY, float velZ) {
+        long position = commands.claim();
+        if (position < 0) {
+            return false;
+        }
+
+        int index = commands.index(position);
+        int arg = index * FMODCommandQueue.ARG_STRIDE;
+        float[] args = commands.args;
+        commands.ops[index] = OP_SET_3D_ATTRIBUTES;
+        commands.ids[index] = instanceId;
+        commands.refs[index] = null;
+        args[arg] = x;
+        args[arg + 1] = y;
+        args[arg + 2] = z;
+        args[arg + 3] = velX;
+        args[arg + 4] = velY;
+        args[arg + 5] = velZ;
+        commands.publish(position);
+        return true;
+    }
+
+    private static boolean submit(int op, long id, Object ref, float value) {
+        long position = commands.claim();
+        if (position < 0) {
+            return false;
+        }
+
+        int index = commands.index(position);
+        commands.ops[index] = op;
+        commands.ids[index] = id;
+        commands.refs[index] = ref;
+        commands.args[index * FMODCommandQueue.ARG_STRIDE] = value;
+        commands.publish(position);
+        return true;
+    }
+
+    private static void run() {
+        // Scratch memory owned by the audio thread
+        PointerBuffer instancePtr = MemoryUtil.memAllocPointer(1);
+        FMOD_3D_ATTRIBUTES emitter = newAttributes(FMOD_3D_ATTRIBUTES.calloc());
+        FMOD_3D_ATTRIBUTES listener = FMOD_3D_ATTRIBUTES.calloc();
+
+        try {
+            long nextUpdate = System.nanoTime();
+            while (!stopRequested) {
+                long now = System.nanoTime();
+                if (now - nextUpdate >= 0) {
+                    drainCommands(instancePtr, emitter, listener);
+                    FMODInstanceReaper.update(FMODSystem.getInstanceRegistry());
+                    int result = FMODStudio.FMOD_Studio_System_Update(FMODSystem.getSystemHandle());
+                    if (result != FMOD.FMOD_OK) {
+                        FMODLog.error("FMOD system update failed on audio thread: error code=" + result);
+                    }
+                    nextUpdate = now + 1_000_000_000L / FMODConfig.snapshot().audioThreadUpdateRate;
+                }
+
+                LockSupport.parkNanos(Math.max(0, nextUpdate - System.nanoTime()));
+            }
+
+            // The ring is closed - execute everything claimed before, including commands still being written
+            drainClosed(instancePtr, emitter, listener);
+        } catch (Throwable t) {
+            FMODLog.error("Audio thread crashed - falling back to game thread updates: " + t.getMessage());
+            commands.close();
+            try {
+                drainClosed(instancePtr, emitter, listener);
+            } catch (Throwable e) {
+                FMODLog.error("Could not execute the audio commands left after the crash: " + e.getMessage());
+            }
+            // Only now may the game thread take over reaping and updates; a later start() creates a new thread
+            running = false;
+            if (thread == Thread.currentThread()) {
+                thread = null;
+            }
+        } finally {
+            MemoryUtil.memFree(instancePtr);
+            emitter.free();
+            listener.free();
+        }
+    }
+
+    private static FMOD_3D_ATTRIBUTES newAttributes(FMOD_3D_ATTRIBUTES attributes) {
+        attributes.forward().set(0f, 0f, 1f);
+        attributes.up().set(0f, 1f, 0f);
+        return attributes;
+    }
+
+    private static void drainCommands(PointerBuffer instancePtr, FMOD_3D_ATTRIBUTES emitter, FMOD_3D_ATTRIBUTES listener) {
+        FMODInstanceRegistry instances = FMODSystem.getInstanceRegistry();
+        int index;
+        while ((index = commands.peek()) >= 0) {
+            try {
+                execute(instances, index, instancePtr, emitter, listener);
+            } catch (Exception e) {
+                FMODLog.error("Audio command failed: " + e.getMessage());
+            }
+            commands.consume(index);
+        }
+    }
+
+    /**
+     * Drain a closed ring up to its last claimed command, waiting for producers still filling theirs
+     */
+    private static void drainClosed(PointerBuffer instancePtr, FMOD_3D_ATTRIBUTES emitter, FMOD_3D_ATTRIBUTES listener) {
+        FMODInstanceRegistry instances = FMODSystem.getInstanceRegistry();
+        long end = commands.close();
+        while (commands.headPosition() < end) {
+            int index = commands.peek();
+            if (index < 0) {
+                // Claimed but not published yet - the producer is between claim() and publish()
+                Thread.onSpinWait();
+                continue;
+            }
+            try {
+                execute(instances, index, instancePtr, emitter, listener);
+            } catch (Exception e) {
+                FMODLog.error("Audio command failed: " + e.getMessage());
+            }
+            commands.consume(index);
+        }
+    }
+
+    private static void execute(FMODInstanceRegistry instances, int index, PointerBuffer instancePtr,
+                                FMOD_3D_ATTRIBUTES emitter, FMOD_3D_ATTRIBUTES listener) {
+        long id = commands.ids[index];
+        int arg = index * FMODCommandQueue.ARG_STRIDE;
+        float[] args = commands.args;
+
+        switch (commands.ops[index]) {
+            case OP_PLAY -> FMODAPI.createInstance(instancePtr, emitter, (FMODAPI.EventHandle) commands.refs[index],
+                args[arg] != 0f, args[arg + 1], args[arg + 2], args[arg + 3], args[arg + 4], args[arg + 5],
+                (int) args[arg + 6], id);
+            case OP_STOP -> {
+                long instance = instances.remove(id);
+                if (instance != 0) {
+                    FMODStudio.FMOD_Studio_EventInstance_Stop(instance, args[arg] != 0f
+                        ? FMODStudio.FMOD_STUDIO_STOP_ALLOWFADEOUT : FMODStudio.FMOD_STUDIO_STOP_IMMEDIATE);
+                    FMODStudio.FMOD_Studio_EventInstance_Release(instance);
+                }
+            }
+            case OP_RELEASE_INSTANCE -> {
+                FMODStudio.FMOD_Studio_EventInstance_Stop(id, args[arg] != 0f
+                    ? FMODStudio.FMOD_STUDIO_STOP_ALLOWFADEOUT : FMODStudio.FMOD_STUDIO_STOP_IMMEDIATE);
+                FMODStudio.FMOD_Studio_EventInstance_Release(id);
+            }
+            case OP_SET_PARAMETER -> {
+                long instance = instances.get(id);
+                if (instance != 0) {
+                    FMODStudio.FMOD_Studio_EventInstance_SetParameterByName(instance, (String) commands.refs[index], args[arg], 0);
+                }
+            }
+            case OP_SET_LISTENER -> {
+                listener.position$().set(args[arg], args[arg + 1], args[arg + 2]);
+                listener.forward().set(args[arg + 3], args[arg + 4], args[arg + 5]);
+                listener.up().set(args[arg + 6], args[arg + 7], args[arg + 8]);
+                listener.velocity().set(args[arg + 9], args[arg + 10], args[arg + 11]);
+                FMODStudio.FMOD_Studio_System_SetListenerAttributes(FMODSystem.getSystemHandle(), 0, listener, null);
+            }
+            case OP_SET_3D_ATTRIBUTES -> {
+                long instance = instances.move(id, args[arg], args[arg + 1], args[arg + 2]);
+                if (instance != 0) {
+                    emitter.position$().set(args[arg], args[arg + 1], args[arg + 2]);
+                    emitter.velocity().set(args[arg + 3], args[arg + 4], args[arg + 5]);
+                    FMODStudio.FMOD_Studio_EventInstance_Set3DAttributes(instance, emitter);
+                    // Newly played sounds only set the position - they start at rest
+                    emitter.velocity().set(0f, 0f, 0f);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.fmodapi;
+
+import org.lwjgl.fmod.FMOD;
+import org.lwjgl.fmod.FMODStudio;
+import org.lwjgl.system.MemoryStack;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous bank loading.
+ *
+ * Bank data is read on a small pool of worker threads and handed to FMOD with
+ * FMOD_STUDIO_LOAD_BANK_NONBLOCKING, so neither the caller nor the worker waits for FMOD to parse
+ * the bank. Loading states are polled once per tick; futures complete on the game thread once a bank
+ * has loaded. Sample data is then either loaded right away (EAGER) or left to FMOD to load on first
+ * use (LAZY).
+ */
+public class FMODBankLoader {
+
+    /**
+     * When a bank's sample data is loaded
+     */
+    public enum SampleData {
+        /** Load all sample data as soon as the bank has loaded - no delay on first playback */
+        EAGER,
+        /** Let FMOD load sample data when an event is first played - saves memory for large banks */
+        LAZY
+    }
+
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+    private static final ExecutorService workers = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)),
+        task -> {
+            Thread thread = new Thread(task, "FMOD Bank Loader " + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    private static final Queue<PendingBank> pending = new ConcurrentLinkedQueue<>();
+
+    // Bumped on FMOD shutdown, so loads submitted before it are discarded
+    private static int epoch = 0;
+
+    private record PendingBank(String bankName, long bankHandle, SampleData sampleData,
+                               CompletableFuture<Boolean> future) {}
+
+    /**
+     * Load a registered bank in the background
+     * @param bankName Bank file name, registered with FMODBankSources
+     * @param sampleData When to load the bank's sample data
+     * @return Future completing with true once the bank has loaded, false if it failed
+     */
+    static CompletableFuture<Boolean> loadAsync(String bankName, SampleData sampleData) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        int submittedEpoch = currentEpoch();
+
+        workers.execute(() -> {
+            ByteBuffer bankData = FMODBankSources.acquire(bankName);
+            if (bankData == null) {
+                future.complete(false);
+                return;
+            }
+
+            synchronized (FMODBankLoader.class) {
+                if (epoch != submittedEpoch || !FMODAPI.isAvailable()) {
+                    // FMOD went away while the data was being read
+                    FMODBankSources.retire(bankName, bankData);
+                    future.complete(false);
+                    return;
+                }
+
+                long bankHandle = FMODBankMemory.load(bankData, bankName, FMODStudio.FMOD_STUDIO_LOAD_BANK_NONBLOCKING);
+                if (bankHandle == 0) {
+                    future.complete(false);
+                    return;
+                }
+
+                FMODBankManager.track(bankName, bankHandle);
+                pending.add(new PendingBank(bankName, bankHandle, sampleData, future));
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Complete the futures of banks that have finished loading. Called once per tick.
+     */
+    static void update() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer loadingState = stack.mallocInt(1);
+
+            for (Iterator<PendingBank> iterator = pending.iterator(); iterator.hasNext(); ) {
+                PendingBank bank = iterator.next();
+                int result = FMODStudio.FMOD_Studio_Bank_GetLoadingState(bank.bankHandle, loadingState);
+                int state = loadingState.get(0);
+
+                if (result == FMOD.FMOD_OK && state == FMODStudio.FMOD_STUDIO_LOADING_STATE_LOADING) {
+                    continue;
+                }
+                iterator.remove();
+
+                if (result == FMOD.FMOD_OK && state == FMODStudio.FMOD_STUDIO_LOADING_STATE_LOADED) {
+                    if (bank.sampleData == SampleData.EAGER) {
+                        // Also asynchronous - playback before it completes just waits for the samples
+                        FMODStudio.FMOD_Studio_Bank_LoadSampleData(bank.bankHandle);
+                    }
+                    FMODLog.info("Successfully loaded bank into FMOD: " + bank.bankName + " (handle: " + bank.bankHandle + ")");
+                    bank.future.complete(true);
+                } else {
+                    FMODLog.error("Failed to load bank in background: " + bank.bankName + " (error: " + result + ", state: " + state + ")");
+                    // Never loaded any events, so there is nothing cached to invalidate
+                    FMODStudio.FMOD_Studio_Bank_Unload(bank.bankHandle);
+                    FMODBankMemory.release(bank.bankHandle);
+                    bank.future.complete(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fail all loads in flight - called before the FMOD system is released
+     */
+    static synchronized void shutdown() {
+        epoch++;
+        PendingBank bank;
+        while ((bank = pending.poll()) != null) {
+            bank.future.complete(false);
+        }
+    }
+
+    /**
+     * Number of banks handed to FMOD that have not finished loading
+     */
+    public static int getPendingCount() {
+        return pending.size();
+    }
+
+    private static synchronized int currentEpoch() {
+        return epoch;
+    }
+}
@@ -0,0 +1,210 @@
+package com.fmodapi;
+
+import org.lwjgl.fmod.FMOD;
+import org.lwjgl.fmod.FMODStudio;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Tracks loaded banks by name.
+ *
+ * Every load goes through {@link #acquire}: a bank that is already loaded (or loading) only gains a
+ * reference, so several mods registering the same bank - or repeated config reloads - never stack
+ * duplicate loads. The bank is unloaded when its last reference is released. Each bank remembers how
+ * it was loaded, so it can be hot-reloaded from its source.
+ */
+public class FMODBankManager {
+
+    private static final Map<String, Bank> banks = new HashMap<>();
+
+    private static class Bank {
+        final Supplier<CompletableFuture<Boolean>> loader;
+        long handle;
+        int refCount;
+        CompletableFuture<Boolean> ready;
+
+        Bank(Supplier<CompletableFuture<Boolean>> loader) {
+            this.loader = loader;
+        }
+    }
+
+    /**
+     * Take a reference to a bank, loading it only if it is neither loaded nor loading
+     * @param bankName Bank file name
+     * @param loader Starts the load; must call {@link #track} with the new handle
+     * @return Future completing with true once the bank is loaded
+     */
+    static CompletableFuture<Boolean> acquire(String bankName, Supplier<CompletableFuture<Boolean>> loader) {
+        Bank bank;
+        synchronized (FMODBankManager.class) {
+            bank = banks.get(bankName);
+            if (bank != null) {
+                bank.refCount++;
+                return bank.ready;
+            }
+
+            bank = new Bank(loader);
+            bank.refCount = 1;
+            bank.ready = new CompletableFuture<>();
+            banks.put(bankName, bank);
+        }
+
+        // Outside the lock - synchronous loaders call track() from here, async ones from a worker
+        start(bankName, bank);
+        return bank.ready;
+    }
+
+    /**
+     * Record the native handle of a bank that has just been handed to FMOD.
+     * If it replaces an earlier handle, events cached from the old one are invalidated.
+     */
+    static void track(String bankName, long bankHandle) {
+        long previous;
+        synchronized (FMODBankManager.class) {
+            Bank bank = banks.get(bankName);
+            if (bank == null) {
+                // Loaded outside acquire() - track it with a single reference
+                bank = new Bank(() -> CompletableFuture.completedFuture(false));
+                bank.refCount = 1;
+                bank.ready = CompletableFuture.completedFuture(true);
+                banks.put(bankName, bank);
+            }
+            previous = bank.handle;
+            bank.handle = bankHandle;
+        }
+        FMODEventCache.onBankLoaded();
+
+        if (previous != 0 && previous != bankHandle) {
+            FMODEventCache.invalidateBank(previous);
+        }
+    }
+
+    /**
+     * Release one reference to a bank, unloading it when it was the last one
+     * @return true if the bank was unloaded
+     */
+    static boolean release(String bankName) {
+        Bank bank;
+        synchronized (FMODBankManager.class) {
+            bank = banks.get(bankName);
+            if (bank == null || --bank.refCount > 0) {
+                return false;
+            }
+            banks.remove(bankName);
+        }
+        return unloadHandle(bankName, bank.handle);
+    }
+
+    /**
+     * Hot-reload a bank: unload the current version and load it again from its source.
+     * References are kept, and cached event descriptions of the old version are invalidated.
+     * A bank that is still loading is reloaded once that load has finished.
+     * @return Future completing with true once the new version is loaded
+     */
+    static CompletableFuture<Boolean> reload(String bankName) {
+        Bank bank;
+        long oldHandle;
+        CompletableFuture<Boolean> pending = null;
+        synchronized (FMODBankManager.class) {
+            bank = banks.get(bankName);
+            if (bank == null) {
+                return CompletableFuture.completedFuture(false);
+            }
+            if (bank.ready.isDone()) {
+                oldHandle = bank.handle;
+                bank.handle = 0;
+                bank.ready = new CompletableFuture<>();
+            } else {
+                // Unloading now would unload nothing and start a second load of the same bank
+                oldHandle = 0;
+                pending = bank.ready;
+            }
+        }
+
+        if (pending != null) {
+            return pending.thenCompose(loaded -> reload(bankName));
+        }
+
+        // FMOD refuses to load a bank whose GUID is still loaded, so the old version goes first.
+        // A resident copy would be the old data - read the source again.
+        unloadHandle(bankName, oldHandle);
+        FMODBankSources.discardResident(bankName);
+        start(bankName, bank);
+        return bank.ready;
+    }
+
+    /**
+     * Forget every bank without unloading - the FMOD system is being released and unloads them all
+     */
+    static synchronized void clear() {
+        banks.clear();
+    }
+
+    public static synchronized boolean isLoaded(String bankName) {
+        Bank bank = banks.get(bankName);
+        return bank != null && bank.handle != 0 && bank.ready.getNow(false);
+    }
+
+    public static synchronized int getReferenceCount(String bankName) {
+        Bank bank = banks.get(bankName);
+        return bank != null ? bank.refCount : 0;
+    }
+
+    public static synchronized int getLoadedBankCount() {
+        return banks.size();
+    }
+
+    private static void start(String bankName, Bank bank) {
+        CompletableFuture<Boolean> ready = bank.ready;
+        CompletableFuture<Boolean> load;
+        try {
+            load = bank.loader.get();
+        } catch (Exception e) {
+            FMODLog.error("Exception loading bank " + bankName + ": " + e.getMessage());
+            load = CompletableFuture.completedFuture(false);
+        }
+
+        load.whenComplete((success, error) -> {
+            boolean loaded = error == null && success;
+            if (!loaded) {
+                // Forget the failed bank so the next acquire() tries again
+                synchronized (FMODBankManager.class) {
+                    if (banks.get(bankName) == bank && bank.ready == ready) {
+                        banks.remove(bankName);
+                    }
+                }
+            }
+            if (loaded) {
+                // Non-blocking loads only define their events now - retry lookups that failed meanwhile
+                FMODEventCache.onBankLoaded();
+                FMODInstancePool.onBankLoaded();
+                // Buses defined by the new bank can be resolved now
+                FMODVolumeMapping.invalidate();
+            }
+            ready.complete(loaded);
+        });
+    }
+
+    private static boolean unloadHandle(String bankName, long bankHandle) {
+        if (bankHandle == 0 || !FMODSystem.isInitialized()) {
+            return false;
+        }
+
+        // Must happen before the unload - the bank's event list is read from FMOD
+        FMODEventCache.invalidateBank(bankHandle);
+
+        int result = FMODStudio.FMOD_Studio_Bank_Unload(bankHandle);
+        if (result != FMOD.FMOD_OK) {
+            FMODLog.error("Failed to unload bank: " + bankName + " (error: " + result + ")");
+            return false;
+        }
+
+        FMODBankMemory.release(bankHandle);
+        FMODVolumeMapping.invalidate();
+        FMODLog.info("Unloaded bank: " + bankName);
+        return true;
+    }
+}
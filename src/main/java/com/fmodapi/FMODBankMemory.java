@@ -0,0 +1,236 @@
+package com.fmodapi;
+
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.fmod.FMOD;
+import org.lwjgl.fmod.FMODStudio;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads banks straight from off-heap memory.
+ *
+ * Bank data is read into an aligned native buffer, or memory-mapped for banks on disk, and handed to
+ * FMOD with FMOD_STUDIO_LOAD_MEMORY_POINT, so FMOD uses the buffer in place: no temp file, no Java heap
+ * copy. The buffer is owned here while its bank is loaded. Once the bank is unloaded, read buffers are
+ * handed to FMODBankSources and mapped files (including disk cache entries) are unmapped.
+ */
+public class FMODBankMemory {
+
+    // Used when the size of the data is not known up front
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    // Buffers FMOD points into, by native bank handle
+    private static final Map<Long, LoadedBank> pointBuffers = new ConcurrentHashMap<>();
+
+    private record LoadedBank(String bankName, ByteBuffer buffer, boolean mapped) {}
+
+    // sun.misc.Unsafe.invokeCleaner - the only way to unmap a file before the buffer is collected
+    private static Object unsafe;
+    private static Method invokeCleaner;
+    private static boolean unmapUnavailable = false;
+
+    /**
+     * Read a whole stream into an aligned off-heap buffer, ready to pass to {@link #load}.
+     * @param stream Bank data
+     * @param sizeHint Expected size in bytes, or -1 if unknown
+     * @return Buffer with position 0 and limit at the end of the data
+     */
+    static ByteBuffer read(InputStream stream, long sizeHint) throws IOException {
+        int capacity = sizeHint > 0 ? (int) Math.min(sizeHint, Integer.MAX_VALUE) : DEFAULT_BUFFER_SIZE;
+        ByteBuffer buffer = allocate(capacity);
+
+        try {
+            ReadableByteChannel channel = Channels.newChannel(stream);
+            while (true) {
+                if (!buffer.hasRemaining()) {
+                    // Size hint was missing or wrong - probe for the end before growing
+                    int next = stream.read();
+                    if (next < 0) {
+                        break;
+                    }
+                    buffer = grow(buffer);
+                    buffer.put((byte) next);
+                }
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            MemoryUtil.memAlignedFree(buffer);
+            throw e;
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Load a bank that points into a buffer from {@link #read} or {@link #map}. Takes ownership of the buffer:
+     * it is retired right away if loading fails, otherwise when the bank is unloaded.
+     * @param flags FMOD_STUDIO_LOAD_BANK_* flags - with NONBLOCKING the bank finishes loading in the background
+     * @return Native bank handle, or 0 if loading failed
+     */
+    static long load(ByteBuffer buffer, String bankName, int flags) {
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            PointerBuffer bankPtr = stack.mallocPointer(1);
+            int result = FMODStudio.FMOD_Studio_System_LoadBankMemory(
+                FMODSystem.getSystemHandle(),
+                buffer,
+                FMODStudio.FMOD_STUDIO_LOAD_MEMORY_POINT,
+                flags,
+                bankPtr
+            );
+
+            if (result != FMOD.FMOD_OK) {
+                FMODLog.error("Failed to load bank from memory: " + bankName + " (error: " + result + ")");
+                FMODBankSources.retire(bankName, buffer);
+                return 0;
+            }
+
+            long bankHandle = bankPtr.get(0);
+            pointBuffers.put(bankHandle, new LoadedBank(bankName, buffer, buffer instanceof MappedByteBuffer));
+            return bankHandle;
+        }
+    }
+
+    /**
+     * Load a bank file by memory-mapping it. The mapping is shared with every other process that maps
+     * the same file, lives outside the JVM heap and is unmapped when the bank is unloaded.
+     * @return Native bank handle, or 0 if FMOD rejected the bank
+     * @throws IOException if the file can't be mapped - the caller may fall back to LoadBankFile
+     */
+    static long loadMapped(Path bankFile, String bankName) throws IOException {
+        MappedByteBuffer buffer = map(bankFile);
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            PointerBuffer bankPtr = stack.mallocPointer(1);
+            int result = FMODStudio.FMOD_Studio_System_LoadBankMemory(
+                FMODSystem.getSystemHandle(),
+                buffer,
+                FMODStudio.FMOD_STUDIO_LOAD_MEMORY_POINT,
+                FMODStudio.FMOD_STUDIO_LOAD_BANK_NORMAL,
+                bankPtr
+            );
+
+            if (result != FMOD.FMOD_OK) {
+                FMODLog.error("Failed to load memory-mapped bank: " + bankName + " (error: " + result + ")");
+                unmap(buffer);
+                return 0;
+            }
+
+            long bankHandle = bankPtr.get(0);
+            pointBuffers.put(bankHandle, new LoadedBank(bankName, buffer, true));
+            return bankHandle;
+        }
+    }
+
+    /**
+     * Map a whole bank file read-only, ready to pass to {@link #load}
+     */
+    static MappedByteBuffer map(Path bankFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(bankFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Bank file exceeds 2 GB");
+            }
+            // Mappings are page aligned, which satisfies FMOD_STUDIO_LOAD_MEMORY_ALIGNMENT
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    /**
+     * Retire the buffer of a bank that has just been unloaded
+     * @param bankHandle Native handle of the unloaded bank
+     */
+    static void release(long bankHandle) {
+        LoadedBank bank = pointBuffers.remove(bankHandle);
+        if (bank == null) {
+            return;
+        }
+
+        // Unloading is processed asynchronously - FMOD may read the buffer until it has completed
+        FMODStudio.FMOD_Studio_System_FlushCommands(FMODSystem.getSystemHandle());
+        retire(bank);
+    }
+
+    /**
+     * Retire every buffer - only once the FMOD system has been released
+     */
+    static void releaseAll() {
+        for (LoadedBank bank : pointBuffers.values()) {
+            retire(bank);
+        }
+        pointBuffers.clear();
+    }
+
+    /**
+     * Total bytes of bank data held in native memory by loaded banks
+     */
+    public static long getLoadedBytes() {
+        long total = 0;
+        for (LoadedBank bank : pointBuffers.values()) {
+            total += bank.buffer.capacity();
+        }
+        return total;
+    }
+
+    private static void retire(LoadedBank bank) {
+        if (bank.mapped) {
+            unmap(bank.buffer);
+        } else {
+            FMODBankSources.retire(bank.bankName, bank.buffer);
+        }
+    }
+
+    /**
+     * Release a file mapping right away. Falls back to leaving it to the GC if the JDK doesn't allow it.
+     */
+    static synchronized void unmap(ByteBuffer buffer) {
+        if (unmapUnavailable) {
+            return;
+        }
+        try {
+            if (invokeCleaner == null) {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                unsafe = field.get(null);
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            }
+            invokeCleaner.invoke(unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unmapUnavailable = true;
+            FMODLog.warn("Cannot unmap bank files explicitly - mappings are released by the GC: " + e.getMessage());
+        }
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        // FMOD requires POINT mode memory to be aligned
+        return MemoryUtil.memAlignedAlloc(FMODStudio.FMOD_STUDIO_LOAD_MEMORY_ALIGNMENT, Math.max(1, capacity));
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        if (capacity == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Bank data exceeds 2 GB");
+        }
+        ByteBuffer grown = allocate((int) Math.min((long) capacity * 2, Integer.MAX_VALUE));
+        buffer.flip();
+        grown.put(buffer);
+        MemoryUtil.memAlignedFree(buffer);
+        return grown;
+    }
+}
@@ -0,0 +1,210 @@
+package com.fmodapi;
+
+import org.lwjgl.fmod.FMODStudio;
+import org.lwjgl.system.MemoryUtil;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Where the data of each bank comes from when it has to be loaded (again).
+ *
+ * By default a bank is only remembered as a re-readable reference - the mod class and resource path
+ * it was loaded from - and its data is read again on every load. Banks selected by the residentBanks
+ * config keep their data in an off-heap buffer across unloads and FMOD restarts instead, which is
+ * never traced by the GC. With the disk cache enabled, banks are extracted once into FMODDiskCache and
+ * memory-mapped from there rather than read.
+ */
+public class FMODBankSources {
+
+    private static final Map<String, BankSource> sources = new ConcurrentHashMap<>();
+
+    private static class BankSource {
+        volatile Class<?> modClass;
+        volatile String resourcePath;
+        ByteBuffer resident; // aligned off-heap copy, only while the bank is not loaded
+
+        synchronized ByteBuffer takeResident() {
+            ByteBuffer buffer = resident;
+            resident = null;
+            return buffer;
+        }
+    }
+
+    /**
+     * Remember a resource a bank can be re-read from
+     * @param bankName Bank file name
+     * @param modClass Class from the mod's JAR
+     * @param resourcePath Path to the bank within the JAR
+     */
+    static void register(String bankName, Class<?> modClass, String resourcePath) {
+        BankSource source = sources.computeIfAbsent(bankName, name -> new BankSource());
+        source.modClass = modClass;
+        source.resourcePath = resourcePath;
+    }
+
+    /**
+     * Load a bank into FMOD from its resident data, or by re-reading its source. Blocks until loaded.
+     * @param bankName Bank file name, registered before
+     * @return true if loaded successfully
+     */
+    static boolean load(String bankName) {
+        ByteBuffer bankData = acquire(bankName);
+        if (bankData == null) {
+            return false;
+        }
+
+        long bankHandle = FMODBankMemory.load(bankData, bankName, FMODStudio.FMOD_STUDIO_LOAD_BANK_NORMAL);
+        if (bankHandle == 0) {
+            FMODLog.info("Failed to load bank into FMOD (will retry on next FMOD init): " + bankName);
+            return false;
+        }
+
+        FMODBankManager.track(bankName, bankHandle);
+        FMODLog.info("Successfully loaded bank into FMOD: " + bankName + " (handle: " + bankHandle + ")");
+        return true;
+    }
+
+    /**
+     * Get the data of a bank for loading: its resident buffer, or a fresh read of its source.
+     * Safe to call from any thread.
+     * @param bankName Bank file name, registered before
+     * @return Buffer to pass to FMODBankMemory.load, or null if the data is not available
+     */
+    static ByteBuffer acquire(String bankName) {
+        BankSource source = sources.get(bankName);
+        if (source == null) {
+            FMODLog.error("No source registered for bank: " + bankName);
+            return null;
+        }
+
+        ByteBuffer bankData = source.takeResident();
+        if (bankData != null) {
+            return bankData;
+        }
+
+        try {
+            bankData = readSource(bankName, source);
+        } catch (Exception e) {
+            FMODLog.error("Exception loading bank from resource " + source.resourcePath + ": " + e.getMessage());
+            return null;
+        }
+        if (bankData != null) {
+            FMODLog.info("Read bank data from resource: " + source.resourcePath + ", size=" + bankData.remaining() + " bytes");
+        }
+        return bankData;
+    }
+
+    /**
+     * Map a bank resource from the disk cache, or read it into an aligned off-heap buffer
+     * @return Buffer, or null if the resource does not exist
+     */
+    private static ByteBuffer readSource(String bankName, BankSource source) throws Exception {
+        String resourcePath = source.resourcePath;
+        URL bankUrl = source.modClass.getResource(resourcePath);
+        if (bankUrl == null) {
+            // Try alternative path formats
+            String altPath = resourcePath.startsWith("/") ? resourcePath.substring(1) : "/" + resourcePath;
+            bankUrl = source.modClass.getResource(altPath);
+            if (bankUrl == null) {
+                FMODLog.error("Bank resource not found: " + resourcePath + " (also tried: " + altPath + ")");
+                return null;
+            }
+        }
+
+        if (FMODConfig.snapshot().diskCache) {
+            try {
+                URL cachedUrl = bankUrl;
+                Path cached = FMODDiskCache.get("banks", bankName, FMODDiskCache.keyOf("banks", bankName, bankUrl), cachedUrl::openStream);
+                return FMODBankMemory.map(cached);
+            } catch (Exception e) {
+                FMODLog.warn("Bank disk cache unavailable for " + bankName + ", reading into memory: " + e.getMessage());
+            }
+        }
+
+        // Jar entries report their size, so the bank is read into a buffer of the exact size
+        URLConnection connection = bankUrl.openConnection();
+        try (InputStream bankStream = connection.getInputStream()) {
+            return FMODBankMemory.read(bankStream, connection.getContentLengthLong());
+        }
+    }
+
+    /**
+     * Hand back the buffer of a bank that is no longer loaded: kept if the residency policy says so,
+     * freed otherwise
+     * @param bankName Bank file name
+     * @param buffer Aligned buffer from FMODBankMemory.read, or a mapped disk cache entry
+     */
+    static void retire(String bankName, ByteBuffer buffer) {
+        if (buffer instanceof MappedByteBuffer) {
+            // Disk cache entry - mapping it again is as cheap as keeping it
+            FMODBankMemory.unmap(buffer);
+            return;
+        }
+        if (isResident(bankName)) {
+            BankSource source = sources.computeIfAbsent(bankName, name -> new BankSource());
+            synchronized (source) {
+                if (source.resident == null) {
+                    buffer.rewind();
+                    source.resident = buffer;
+                    return;
+                }
+            }
+        }
+        MemoryUtil.memAlignedFree(buffer);
+    }
+
+    /**
+     * Free the resident data of a bank, e.g. because its source changed
+     */
+    static void discardResident(String bankName) {
+        BankSource source = sources.get(bankName);
+        ByteBuffer buffer = source != null ? source.takeResident() : null;
+        if (buffer != null) {
+            MemoryUtil.memAlignedFree(buffer);
+        }
+    }
+
+    /**
+     * Whether the residency policy keeps a bank's data in memory while it is not loaded
+     */
+    static boolean isResident(String bankName) {
+        var residentBanks = FMODConfig.snapshot().residentBanks;
+        return residentBanks.contains("*") || residentBanks.contains(bankName);
+    }
+
+    /**
+     * Free the resident data of banks the policy no longer keeps. Called when the config changes.
+     */
+    static void applyPolicy() {
+        for (Map.Entry<String, BankSource> entry : sources.entrySet()) {
+            BankSource source = entry.getValue();
+            if (!isResident(entry.getKey())) {
+                ByteBuffer buffer = source.takeResident();
+                if (buffer != null) {
+                    MemoryUtil.memAlignedFree(buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Total bytes of bank data kept resident while not loaded
+     */
+    public static long getResidentBytes() {
+        long total = 0;
+        for (BankSource source : sources.values()) {
+            ByteBuffer buffer = source.resident;
+            if (buffer != null) {
+                total += buffer.capacity();
+            }
+        }
+        return total;
+    }
+}
@@ -3,7 +3,11 @@ package com.fmodapi;
 import net.neoforged.api.distmarker.Dist;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
 import net.neoforged.neoforge.client.event.ClientTickEvent;
+import net.neoforged.neoforge.client.event.RenderFrameEvent;
+import net.neoforged.neoforge.event.entity.EntityLeaveLevelEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
 import net.neoforged.neoforge.event.level.LevelEvent;
 
 /**
@@ -20,22 +24,78 @@ public class FMODClientEvents {
         try {
             FMODSystem.update();
         } catch (Exception e) {
-            System.err.println("[FMOD API] Exception during client tick update: " + e.getMessage());
+            FMODLog.error("Exception during client tick update: " + e.getMessage());
         }
     }
 
     /**
-     * Cleanup when world is unloaded
+     * Move attached sounds between ticks
+     */
+    @SubscribeEvent
+    public static void onRenderFrame(RenderFrameEvent.Pre event) {
+        try {
+            FMODEmitterTracker.extrapolate();
+        } catch (Exception e) {
+            FMODLog.error("Exception during emitter update: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Release the chunk-scoped sounds of a chunk as it unloads, so voices are freed while travelling
+     */
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getLevel().isClientSide()) {
+            try {
+                FMODAPI.stopSoundsInChunk(event.getChunk().getPos().x, event.getChunk().getPos().z,
+                    FMODConfig.snapshot().unloadFadeOut);
+            } catch (Exception e) {
+                FMODLog.error("Exception during chunk unload cleanup: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Release the sounds scoped to an entity that left the level
+     */
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (event.getLevel().isClientSide()) {
+            try {
+                FMODAPI.releaseEntity(event.getEntity().getId(), FMODConfig.snapshot().unloadFadeOut);
+            } catch (Exception e) {
+                FMODLog.error("Exception during entity sound cleanup: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Release the sounds that belong to the level when it is unloaded (dimension change or leaving the world)
      */
     @SubscribeEvent
     public static void onWorldUnload(LevelEvent.Unload event) {
         if (event.getLevel().isClientSide()) {
             try {
-                // Stop all sounds when world is unloaded
-                FMODAPI.stopAllSounds();
+                boolean fadeOut = FMODConfig.snapshot().unloadFadeOut;
+                FMODAPI.releaseScope(FMODScope.CHUNK, fadeOut);
+                FMODAPI.releaseScope(FMODScope.ENTITY, fadeOut);
+                FMODAPI.releaseScope(FMODScope.DIMENSION, fadeOut);
+                FMODAudioLod.clear();
             } catch (Exception e) {
-                System.err.println("[FMOD API] Exception during world unload cleanup: " + e.getMessage());
+                FMODLog.error("Exception during world unload cleanup: " + e.getMessage());
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Release world-scoped sounds when leaving the world or server - global sounds keep playing
+     */
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        try {
+            FMODAPI.releaseScope(FMODScope.WORLD, FMODConfig.snapshot().unloadFadeOut);
+        } catch (Exception e) {
+            FMODLog.error("Exception during logout cleanup: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.fmodapi;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer ring of audio commands.
+ *
+ * Commands are stored in preallocated parallel arrays (opcode, id, one object reference and a block
+ * of float arguments per slot), so submitting a command does not allocate. Producers claim a slot,
+ * fill it and publish it; the single consumer (the audio thread) reads published slots in order.
+ * Closing the ring sets a flag bit in the claim counter itself, so a claim either happens before
+ * the close - and is drained by the consumer - or fails.
+ */
+public class FMODCommandQueue {
+
+    /** Number of float arguments available per command */
+    static final int ARG_STRIDE = 12;
+
+    // Set in tail while the ring is closed - claims fail
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    final int[] ops;
+    final long[] ids;
+    final Object[] refs;
+    final float[] args;
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head = 0; // consumer-owned
+
+    /**
+     * @param capacity Ring capacity, rounded up to a power of two
+     */
+    public FMODCommandQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.ops = new int[size];
+        this.ids = new long[size];
+        this.refs = new Object[size];
+        this.args = new float[size * ARG_STRIDE];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Claim a slot for writing. Safe to call from any thread.
+     * @return Claimed position, or -1 if the ring is full or closed
+     */
+    long claim() {
+        while (true) {
+            long position = tail.get();
+            if (position < 0) {
+                return -1; // Closed
+            }
+            long difference = sequences.get((int) position & mask) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+            } else if (difference < 0) {
+                return -1;
+            }
+            // Another producer claimed this position - retry
+        }
+    }
+
+    /**
+     * Array index of a claimed position
+     */
+    int index(long position) {
+        return (int) position & mask;
+    }
+
+    /**
+     * Make a filled slot visible to the consumer
+     */
+    void publish(long position) {
+        sequences.lazySet((int) position & mask, position + 1);
+    }
+
+    /**
+     * Index of the next published command, or -1 if none. Consumer thread only.
+     */
+    int peek() {
+        int index = (int) head & mask;
+        return sequences.get(index) == head + 1 ? index : -1;
+    }
+
+    /**
+     * Hand the slot returned by peek() back to producers. Consumer thread only.
+     */
+    void consume(int index) {
+        refs[index] = null;
+        sequences.lazySet(index, head + mask + 1);
+        head++;
+    }
+
+    /**
+     * Make every further claim fail. Commands claimed before may still be in the middle of being
+     * published - the consumer drains up to the returned position to get all of them.
+     * @return Position after the last command that was claimed
+     */
+    long close() {
+        return tail.getAndUpdate(position -> position | CLOSED) & ~CLOSED;
+    }
+
+    /**
+     * Accept claims again after {@link #close()}
+     */
+    void open() {
+        tail.getAndUpdate(position -> position & ~CLOSED);
+    }
+
+    boolean isClosed() {
+        return tail.get() < 0;
+    }
+
+    /**
+     * Position of the next command to consume. Consumer thread only.
+     */
+    long headPosition() {
+        return head;
+    }
+}
@@ -17,7 +17,7 @@ public class FMODCommands {
     @SubscribeEvent
     public static void onRegisterCommands(RegisterCommandsEvent event) {
         register(event.getDispatcher());
-        System.out.println("[FMOD API] Commands registered");
+        FMODLog.debug("Commands registered");
     }
 
     public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
@@ -36,6 +36,14 @@ public class FMODCommands {
                          status.errorCode == 20 ? " (Hardware Conflict)" : " (Error)")), false);
                     source.sendSuccess(() -> Component.literal("Active Instances: " +
                         FMODAPI.getActiveInstanceCount() + "/" + FMODAPI.getMaxInstanceCount()), false);
+                    source.sendSuccess(() -> Component.literal("Voices Stolen: " + FMODVoiceLimiter.getStolenCount() +
+                        ", Throttled: " + FMODVoiceLimiter.getThrottledCount()), false);
+                    source.sendSuccess(() -> Component.literal("Pooled Instances: " + FMODInstancePool.getIdleCount() +
+                        " idle, " + FMODInstancePool.getReusedCount() + " reused"), false);
+                    source.sendSuccess(() -> Component.literal("Cached Events: " + FMODEventCache.size() +
+                        ", Unknown: " + FMODEventCache.getMissingCount()), false);
+                    source.sendSuccess(() -> Component.literal("Distance Culled: " + FMODAudioLod.getCulledCount() +
+                        ", Virtual: " + FMODAudioLod.getVirtualCount() + ", Promoted: " + FMODAudioLod.getPromotedCount()), false);
                     source.sendSuccess(() -> Component.literal("FMOD Enabled: " + FMODConfig.FMOD_ENABLED.get()), false);
                     source.sendSuccess(() -> Component.literal("Debug Logging: " + FMODConfig.DEBUG_LOGGING.get()), false);
 
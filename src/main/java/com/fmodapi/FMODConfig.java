@@ -5,6 +5,12 @@ import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.fml.event.config.ModConfigEvent;
 import net.neoforged.neoforge.common.ModConfigSpec;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Configuration for FMOD API.
  * Provides status information and control options for FMOD system.
@@ -16,8 +22,29 @@ public class FMODConfig {
     // Configuration Options
     public static final ModConfigSpec.BooleanValue FMOD_ENABLED;
     public static final ModConfigSpec.BooleanValue DEBUG_LOGGING;
+    public static final ModConfigSpec.BooleanValue ASYNC_INIT;
     public static final ModConfigSpec.IntValue MAX_INSTANCES;
     public static final ModConfigSpec.ConfigValue<String> FMOD_CUSTOM_PATH;
+    public static final ModConfigSpec.IntValue REAPER_BUDGET;
+    public static final ModConfigSpec.IntValue MAX_EVENT_SPAWNS_PER_TICK;
+    public static final ModConfigSpec.IntValue INSTANCE_POOL_SIZE;
+    public static final ModConfigSpec.ConfigValue<List<? extends String>> INSTANCE_POOL_SIZES;
+    public static final ModConfigSpec.BooleanValue DISTANCE_CULLING;
+    public static final ModConfigSpec.BooleanValue VIRTUAL_VOICES;
+    public static final ModConfigSpec.BooleanValue UNLOAD_FADE_OUT;
+    public static final ModConfigSpec.BooleanValue AUDIO_THREAD;
+    public static final ModConfigSpec.IntValue AUDIO_THREAD_UPDATE_RATE;
+    public static final ModConfigSpec.ConfigValue<List<? extends String>> RESIDENT_BANKS;
+    public static final ModConfigSpec.BooleanValue MAP_BANK_FILES;
+    public static final ModConfigSpec.BooleanValue DISK_CACHE;
+    public static final ModConfigSpec.IntValue DISK_CACHE_SIZE;
+    public static final ModConfigSpec.ConfigValue<List<? extends String>> SOUND_SOURCE_BUSES;
+
+    // Conventional bus names - entries whose bus no loaded bank defines are skipped
+    private static final List<String> DEFAULT_SOUND_SOURCE_BUSES = List.of(
+        "music=bus:/Music", "record=bus:/Records", "weather=bus:/Weather", "block=bus:/Blocks",
+        "hostile=bus:/Hostile", "neutral=bus:/Neutral", "player=bus:/Players", "ambient=bus:/Ambient",
+        "voice=bus:/Voice");
 
     static {
         FMOD_ENABLED = BUILDER
@@ -28,6 +55,11 @@ public class FMODConfig {
             .comment("Enable debug logging for FMOD API - useful for troubleshooting audio issues")
             .translation("config.fmodapi.debug_logging")
             .define("debugLogging", false);
+        ASYNC_INIT = BUILDER
+            .comment("Initialize FMOD on a background thread while the game keeps loading (default: true)",
+                     "Sounds played before FMOD is ready are queued and played once it is.")
+            .translation("config.fmodapi.async_init")
+            .define("asyncInit", true);
         MAX_INSTANCES = BUILDER
             .comment("Maximum number of concurrent FMOD sound instances (32-4096, default: 512)")
             .translation("config.fmodapi.max_instances")
@@ -41,20 +73,175 @@ public class FMODConfig {
                      "Download from: https://www.fmod.com/download#fmodengine")
             .translation("config.fmodapi.custom_path")
             .define("fmodCustomPath", "");
+        REAPER_BUDGET = BUILDER
+            .comment("Maximum number of sound instances polled for completion per tick (1-4096, default: 32)",
+                     "Finished sounds normally report themselves through FMOD callbacks - polling is only a safety net.")
+            .translation("config.fmodapi.reaper_budget")
+            .defineInRange("reaperBudgetPerTick", 32, 1, 4096);
+        MAX_EVENT_SPAWNS_PER_TICK = BUILDER
+            .comment("Maximum number of instances of the same event started within one tick (1-256, default: 4)",
+                     "Further requests for that event in the same tick are dropped - many identical sounds collapse into a few voices.")
+            .translation("config.fmodapi.max_event_spawns_per_tick")
+            .defineInRange("maxEventSpawnsPerTick", 4, 1, 256);
+        INSTANCE_POOL_SIZE = BUILDER
+            .comment("Finished instances kept for reuse per one-shot event (0-64, default: 0 = no pooling)",
+                     "Reused instances skip FMOD's instance creation and release when the same sound plays again.")
+            .translation("config.fmodapi.instance_pool_size")
+            .defineInRange("instancePoolSize", 0, 0, 64);
+        INSTANCE_POOL_SIZES = BUILDER
+            .comment("Per-event pool sizes overriding instancePoolSize, e.g. [\"mymod/gunshot=16\"]")
+            .translation("config.fmodapi.instance_pool_sizes")
+            .defineListAllowEmpty("instancePoolSizes", List.of(), () -> "", entry -> entry instanceof String);
+        DISTANCE_CULLING = BUILDER
+            .comment("Skip one-shot sounds that start beyond their event's max distance from the listener (default: true)",
+                     "No FMOD instance is created for them - cuts instance counts around large farms.")
+            .translation("config.fmodapi.distance_culling")
+            .define("distanceCulling", true);
+        VIRTUAL_VOICES = BUILDER
+            .comment("Remember culled one-shots and start them if the listener comes within range while they would still play (default: true)")
+            .translation("config.fmodapi.virtual_voices")
+            .define("virtualVoices", true);
+        UNLOAD_FADE_OUT = BUILDER
+            .comment("Let sounds fade out when their chunk, entity or level unloads instead of cutting them off (default: true)")
+            .translation("config.fmodapi.unload_fade_out")
+            .define("unloadFadeOut", true);
+        AUDIO_THREAD = BUILDER
+            .comment("Run FMOD on a dedicated audio thread instead of the game thread (takes effect immediately)",
+                     "Play, stop, parameter and listener calls are queued and FMOD updates and mixes on its own cadence.")
+            .translation("config.fmodapi.audio_thread")
+            .define("audioThread", false);
+        AUDIO_THREAD_UPDATE_RATE = BUILDER
+            .comment("FMOD updates per second on the audio thread (20-240, default: 60)")
+            .translation("config.fmodapi.audio_thread_update_rate")
+            .defineInRange("audioThreadUpdateRate", 60, 20, 240);
+        RESIDENT_BANKS = BUILDER
+            .comment("Bank file names whose data stays in native memory while unloaded, e.g. [\"Master.bank\"] (\"*\" for all)",
+                     "Other banks are read again from their mod JAR whenever they are (re)loaded.")
+            .translation("config.fmodapi.resident_banks")
+            .defineListAllowEmpty("residentBanks", List.of(), () -> "", entry -> entry instanceof String);
+        MAP_BANK_FILES = BUILDER
+            .comment("Memory-map bank files loaded from disk instead of letting FMOD read them (default: true)",
+                     "Bank data is then backed by the OS page cache - shared between game instances and outside the Java heap.")
+            .translation("config.fmodapi.map_bank_files")
+            .define("mapBankFiles", true);
+        DISK_CACHE = BUILDER
+            .comment("Extract banks from mod JARs once into <game dir>/fmodapi/cache and memory-map them from there (default: true)",
+                     "Unchanged banks are reused across launches; changed banks get a new, checksummed entry.")
+            .translation("config.fmodapi.disk_cache")
+            .define("diskCache", true);
+        DISK_CACHE_SIZE = BUILDER
+            .comment("Maximum size of the disk cache in MB (64-65536, default: 1024)",
+                     "Least recently used entries are deleted when the cache grows beyond it.")
+            .translation("config.fmodapi.disk_cache_size")
+            .defineInRange("diskCacheSizeMb", 1024, 64, 65536);
+        SOUND_SOURCE_BUSES = BUILDER
+            .comment("FMOD Studio bus or VCA controlled by each Minecraft volume slider, e.g. [\"music=bus:/Music\", \"hostile=vca:/Mobs\"]",
+                     "Keys are sound categories (master, music, record, weather, block, hostile, neutral, player, ambient, voice).",
+                     "An unmapped master slider controls the FMOD master volume.")
+            .translation("config.fmodapi.sound_source_buses")
+            .defineListAllowEmpty("soundSourceBuses", DEFAULT_SOUND_SOURCE_BUSES, () -> "", entry -> entry instanceof String);
     }
 
     public static final ModConfigSpec SPEC = BUILDER.build();
 
+    // Values read on hot paths - replaced as a whole, never mutated
+    private static volatile Snapshot snapshot = new Snapshot();
+
+    /**
+     * Current config snapshot. One volatile read - safe to call per sound.
+     */
+    public static Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Rebuild the snapshot from the config values and the current FMOD system state.
+     * Called when the config loads or reloads and when FMOD is initialized or shut down.
+     */
+    static void refreshSnapshot() {
+        Snapshot next;
+        try {
+            next = new Snapshot(
+                FMOD_ENABLED.get(),
+                DEBUG_LOGGING.get(),
+                ASYNC_INIT.get(),
+                MAX_INSTANCES.get(),
+                REAPER_BUDGET.get(),
+                MAX_EVENT_SPAWNS_PER_TICK.get(),
+                INSTANCE_POOL_SIZE.get(),
+                parsePoolSizes(INSTANCE_POOL_SIZES.get()),
+                DISTANCE_CULLING.get(),
+                VIRTUAL_VOICES.get(),
+                UNLOAD_FADE_OUT.get(),
+                AUDIO_THREAD.get(),
+                AUDIO_THREAD_UPDATE_RATE.get(),
+                Set.copyOf(RESIDENT_BANKS.get()),
+                MAP_BANK_FILES.get(),
+                DISK_CACHE.get(),
+                DISK_CACHE_SIZE.get() * 1024L * 1024L,
+                parseSoundSourceBuses(SOUND_SOURCE_BUSES.get())
+            );
+        } catch (Exception e) {
+            // Config not loaded yet - use defaults but keep tracking FMOD availability
+            next = new Snapshot();
+        }
+        snapshot = next;
+        FMODLog.configure(next.debugLogging);
+    }
+
+    /**
+     * Parse "source=bus:/Path" / "source=vca:/Path" entries, skipping malformed ones
+     */
+    static Map<String, String> parseSoundSourceBuses(List<? extends String> entries) {
+        Map<String, String> buses = new HashMap<>();
+        for (String entry : entries) {
+            int separator = entry.indexOf('=');
+            String path = separator > 0 ? entry.substring(separator + 1).trim() : "";
+            if (!path.startsWith("bus:/") && !path.startsWith("vca:/")) {
+                FMODLog.warn("Ignoring invalid sound source bus mapping: " + entry);
+                continue;
+            }
+            buses.put(entry.substring(0, separator).trim().toLowerCase(Locale.ROOT), path);
+        }
+        return Map.copyOf(buses);
+    }
+
+    /**
+     * Parse "event/name=size" entries, skipping malformed ones
+     */
+    static Map<String, Integer> parsePoolSizes(List<? extends String> entries) {
+        Map<String, Integer> sizes = new HashMap<>();
+        for (String entry : entries) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                FMODLog.warn("Ignoring instance pool size without '=': " + entry);
+                continue;
+            }
+            String eventName = entry.substring(0, separator).trim();
+            if (eventName.startsWith("event:/")) {
+                eventName = eventName.substring("event:/".length());
+            }
+            try {
+                int size = Integer.parseInt(entry.substring(separator + 1).trim());
+                sizes.put(eventName, Math.max(0, Math.min(size, 64)));
+            } catch (NumberFormatException e) {
+                FMODLog.warn("Ignoring invalid instance pool size: " + entry);
+            }
+        }
+        return Map.copyOf(sizes);
+    }
+
     @SubscribeEvent
     static void onLoad(final ModConfigEvent event) {
+        refreshSnapshot();
         try {
             // When config loads, check if FMOD should be initialized
             FMODSystem.checkConfigAndInit();
         } catch (Throwable e) {
             // Prevent FMOD initialization failures from crashing Minecraft
-            System.err.println("[FMOD API] Failed to initialize FMOD during config load - FMOD will be disabled");
-            System.err.println("[FMOD API] This is not critical - audio will fall back to OpenAL");
-            System.err.println("[FMOD API] Error: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            FMODLog.error("Failed to initialize FMOD during config load - FMOD will be disabled");
+            FMODLog.error("This is not critical - audio will fall back to OpenAL");
+            FMODLog.error("Error: " + e.getClass().getSimpleName() + ": " + e.getMessage());
             e.printStackTrace();
 
             // Ensure FMOD system is marked as failed so it gracefully falls back
@@ -64,10 +251,11 @@ public class FMODConfig {
 
     @SubscribeEvent
     static void onReload(final ModConfigEvent.Reloading event) {
-        System.out.println("=== FMOD API CONFIG CHANGE DETECTED ===");
-        System.out.println("=== FMOD API CONFIG CHANGE DETECTED ===");
-        System.out.println("=== FMOD API CONFIG CHANGE DETECTED ===");
-        System.out.println("[FMOD API Config] ModConfigEvent.Reloading fired - handling runtime config change");
+        refreshSnapshot();
+        FMODBankSources.applyPolicy();
+        FMODInstancePool.applyConfig();
+        FMODVolumeMapping.invalidate();
+        FMODLog.info("Config changed - applying runtime config change");
         // When config is changed in-game, handle FMOD enable/disable
         handleRuntimeConfigChange();
     }
@@ -80,21 +268,21 @@ public class FMODConfig {
             boolean fmodEnabled = FMOD_ENABLED.get();
             boolean fmodCurrentlyRunning = FMODSystem.isInitialized();
 
-            System.out.println("[FMOD API Config] Runtime config check: fmodEnabled=" + fmodEnabled + ", fmodCurrentlyRunning=" + fmodCurrentlyRunning);
+            FMODLog.debug("Runtime config check: fmodEnabled=" + fmodEnabled + ", fmodCurrentlyRunning=" + fmodCurrentlyRunning);
 
             // Use checkConfigAndInit() which handles routing properly without reinitializing
             // FMOD system stays initialized once loaded, only routing changes based on config
-            System.out.println("[FMOD API Config] Updating FMOD routing based on config...");
+            FMODLog.debug("Updating FMOD routing based on config...");
             try {
                 FMODSystem.checkConfigAndInit();
             } catch (Throwable e) {
-                System.err.println("[FMOD API Config] Failed to update FMOD routing: " + e.getMessage());
+                FMODLog.error("Failed to update FMOD routing: " + e.getMessage());
                 e.printStackTrace();
             }
 
             // Status change notifications are handled automatically by FMODSystem
         } catch (Exception e) {
-            System.err.println("[FMOD API Config] Failed to handle runtime config change: " + e.getMessage());
+            FMODLog.error("Failed to handle runtime config change: " + e.getMessage());
             e.printStackTrace();
         }
     }
@@ -107,9 +295,72 @@ public class FMODConfig {
             FMODSystem.shutdown();
             Thread.sleep(500); // Small delay
             FMODSystem.init();
-            System.out.println("[FMOD API Config] FMOD system reinitialized");
+            FMODLog.info("FMOD system reinitialized");
         } catch (Exception e) {
-            System.err.println("[FMOD API Config] Failed to reinitialize FMOD: " + e.getMessage());
+            FMODLog.error("Failed to reinitialize FMOD: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Immutable copy of the config values used on hot paths, with FMOD availability folded in
+     */
+    public static final class Snapshot {
+        public final boolean fmodEnabled;
+        public final boolean debugLogging;
+        public final boolean asyncInit;
+        public final int maxInstances;
+        public final int reaperBudget;
+        public final int maxEventSpawnsPerTick;
+        public final int instancePoolSize;
+        public final Map<String, Integer> instancePoolSizes;
+        public final boolean distanceCulling;
+        public final boolean virtualVoices;
+        public final boolean unloadFadeOut;
+        public final boolean audioThread;
+        public final int audioThreadUpdateRate;
+        public final Set<String> residentBanks;
+        public final boolean mapBankFiles;
+        public final boolean diskCache;
+        public final long diskCacheMaxBytes;
+        /** Sound source name -> bus or VCA path */
+        public final Map<String, String> soundSourceBuses;
+
+        /** FMOD is initialized and has not failed */
+        public final boolean available;
+        /** Sounds should be played through FMOD - enabled in config and available */
+        public final boolean routingActive;
+
+        // Defaults, used until the config is loaded
+        private Snapshot() {
+            this(true, false, true, 512, 32, 4, 0, Map.of(), true, true, true, false, 60, Set.of(), true, true,
+                1024L * 1024L * 1024L, parseSoundSourceBuses(DEFAULT_SOUND_SOURCE_BUSES));
+        }
+
+        private Snapshot(boolean fmodEnabled, boolean debugLogging, boolean asyncInit, int maxInstances, int reaperBudget,
+                         int maxEventSpawnsPerTick, int instancePoolSize, Map<String, Integer> instancePoolSizes,
+                         boolean distanceCulling, boolean virtualVoices, boolean unloadFadeOut,
+                         boolean audioThread, int audioThreadUpdateRate, Set<String> residentBanks, boolean mapBankFiles,
+                         boolean diskCache, long diskCacheMaxBytes, Map<String, String> soundSourceBuses) {
+            this.fmodEnabled = fmodEnabled;
+            this.debugLogging = debugLogging;
+            this.asyncInit = asyncInit;
+            this.maxInstances = maxInstances;
+            this.reaperBudget = reaperBudget;
+            this.maxEventSpawnsPerTick = maxEventSpawnsPerTick;
+            this.instancePoolSize = instancePoolSize;
+            this.instancePoolSizes = instancePoolSizes;
+            this.distanceCulling = distanceCulling;
+            this.virtualVoices = virtualVoices;
+            this.unloadFadeOut = unloadFadeOut;
+            this.audioThread = audioThread;
+            this.audioThreadUpdateRate = audioThreadUpdateRate;
+            this.residentBanks = residentBanks;
+            this.mapBankFiles = mapBankFiles;
+            this.diskCache = diskCache;
+            this.diskCacheMaxBytes = diskCacheMaxBytes;
+            this.soundSourceBuses = soundSourceBuses;
+            this.available = FMODSystem.isInitialized() && !FMODSystem.hasInitializationFailed();
+            this.routingActive = fmodEnabled && available;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,458 @@
+package com.fmodapi;
+
+import net.neoforged.fml.loader.FMLPaths;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLDecoder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * Persistent cache of files extracted from mod JARs, under {@code <game dir>/fmodapi/cache}.
+ *
+ * Entries are keyed by the CRC32 and size of their content, so an unchanged resource is extracted once
+ * and reused on every later launch, while a changed one gets a new entry. The content key of a resource
+ * is remembered together with a stamp of its source (mod file and entry size and modification time), so
+ * later launches only hash a resource again when its mod file changed. New entries are written to a temp
+ * file, verified and moved into place atomically; existing ones are only checked for their size.
+ * The cache is bounded in size - least recently used entries are evicted first.
+ */
+public class FMODDiskCache {
+
+    // Leftovers of writes that never finished (crash, killed process) - younger ones may still be in progress
+    private static final Duration STALE_TEMP_AGE = Duration.ofHours(1);
+
+    private static final Map<Path, Object> entryLocks = new ConcurrentHashMap<>();
+    // Entries checked or written this session, and entries handed out this session (never evicted)
+    private static final Set<Path> verified = ConcurrentHashMap.newKeySet();
+    private static final Set<Path> inUse = ConcurrentHashMap.newKeySet();
+
+    // "namespace/fileName" -> source stamp and content key, as "stamp=crc:size". Loaded on first use.
+    private static Properties stamps;
+
+    /**
+     * Content fingerprint of a cache entry
+     */
+    record Key(long crc, long size) {
+        String directoryName() {
+            return String.format("%08x-%d", crc, size);
+        }
+    }
+
+    /**
+     * Opens the content of an entry, only called when the entry has to be (re)written
+     */
+    @FunctionalInterface
+    interface Source {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * Fingerprint a resource. Free for JAR entries, whose CRC is stored in the archive. Other resources
+     * (mod files served by the union file system, directories) are streamed through CRC32 only when their
+     * source stamp differs from the one recorded when they were last hashed.
+     * @param namespace Cache subdirectory the entry goes to
+     * @param fileName File name of the entry
+     */
+    static Key keyOf(String namespace, String fileName, URL resource) throws IOException {
+        URLConnection connection = resource.openConnection();
+        if (connection instanceof JarURLConnection jarConnection) {
+            // Private JarFile, closed right away - a cached one would stay open for the whole session
+            jarConnection.setUseCaches(false);
+            try (JarFile jar = jarConnection.getJarFile()) {
+                JarEntry entry = jar.getJarEntry(jarConnection.getEntryName());
+                if (entry != null && entry.getCrc() != -1 && entry.getSize() != -1) {
+                    return new Key(entry.getCrc(), entry.getSize());
+                }
+            }
+        }
+
+        Key zipKey = zipAttributesKey(resource);
+        if (zipKey != null) {
+            return zipKey;
+        }
+
+        String name = namespace + "/" + fileName;
+        String stamp = stampOf(resource);
+        Key known = stamp != null ? knownKey(name, stamp) : null;
+        if (known != null) {
+            return known;
+        }
+
+        Key key;
+        try (CheckedInputStream in = new CheckedInputStream(resource.openStream(), new CRC32())) {
+            long size = in.transferTo(OutputStream.nullOutputStream());
+            key = new Key(in.getChecksum().getValue(), size);
+        }
+        if (stamp != null) {
+            rememberKey(name, stamp, key);
+        }
+        return key;
+    }
+
+    /**
+     * Get the path of a cached file, extracting it first if it is missing or fails verification.
+     * @param namespace Cache subdirectory, e.g. "banks"
+     * @param fileName File name of the entry - kept as is, so native libraries keep their names
+     * @param key Expected content fingerprint
+     * @param source Content to extract on a miss
+     * @return Path of the verified file
+     * @throws IOException if the entry can't be written, or the source doesn't match the key
+     */
+    static Path get(String namespace, String fileName, Key key, Source source) throws IOException {
+        Path namespaceDir = root().resolve(namespace);
+        Path file = namespaceDir.resolve(key.directoryName()).resolve(fileName);
+
+        synchronized (entryLocks.computeIfAbsent(file, path -> new Object())) {
+            // Content was verified when the entry was written and is only ever replaced atomically -
+            // a size check catches truncation without reading the whole file again
+            if (Files.isRegularFile(file) && (verified.contains(file) || hasSize(file, key))) {
+                verified.add(file);
+                inUse.add(file);
+                touch(file);
+                return file;
+            }
+
+            write(namespaceDir, file, key, source);
+            verified.add(file);
+            inUse.add(file);
+        }
+
+        evict(FMODConfig.snapshot().diskCacheMaxBytes);
+        return file;
+    }
+
+    /**
+     * Cache directory under the game directory
+     */
+    static Path root() {
+        return FMLPaths.GAMEDIR.get().resolve("fmodapi").resolve("cache");
+    }
+
+    /**
+     * Delete least recently used entries until the cache fits within the given size.
+     * Entries used this session are kept even if that leaves the cache above the limit.
+     */
+    static synchronized void evict(long maxBytes) {
+        List<Path> files = new ArrayList<>();
+        Path root = root();
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+
+        Instant staleBefore = Instant.now().minus(STALE_TEMP_AGE);
+        long total = 0;
+        try (DirectoryStream<Path> namespaces = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path namespace : namespaces) {
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(namespace)) {
+                    for (Path entry : entries) {
+                        if (Files.isDirectory(entry)) {
+                            try (DirectoryStream<Path> entryFiles = Files.newDirectoryStream(entry)) {
+                                for (Path file : entryFiles) {
+                                    files.add(file);
+                                    total += Files.size(file);
+                                }
+                            }
+                        } else if (entry.getFileName().toString().endsWith(".tmp")
+                                   && Files.getLastModifiedTime(entry).toInstant().isBefore(staleBefore)) {
+                            Files.deleteIfExists(entry);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            FMODLog.warn("Failed to scan FMOD disk cache: " + e.getMessage());
+            return;
+        }
+
+        if (total <= maxBytes) {
+            return;
+        }
+
+        files.sort(Comparator.comparing(FMODDiskCache::lastModified));
+        for (Path file : files) {
+            if (total <= maxBytes) {
+                break;
+            }
+            if (inUse.contains(file)) {
+                continue;
+            }
+            try {
+                long size = Files.size(file);
+                Files.delete(file);
+                total -= size;
+                FMODLog.debug("Evicted from FMOD disk cache: " + root.relativize(file));
+            } catch (IOException e) {
+                // Still open by another game instance - try again next time
+                FMODLog.debug("Could not evict " + file + ": " + e.getMessage());
+                continue;
+            }
+            try {
+                Files.deleteIfExists(file.getParent());
+            } catch (IOException e) {
+                // Entry directory not empty yet
+            }
+        }
+    }
+
+    /**
+     * Total size of the files in the cache
+     */
+    public static long getSize() {
+        Path root = root();
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        try (var files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> {
+                try {
+                    return Files.size(file);
+                } catch (IOException e) {
+                    return 0;
+                }
+            }).sum();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void write(Path namespaceDir, Path file, Key key, Source source) throws IOException {
+        Files.createDirectories(file.getParent());
+        // Same file system as the entry, so the final move is atomic
+        Path temp = Files.createTempFile(namespaceDir, file.getFileName().toString(), ".tmp");
+        try {
+            long size;
+            long crc;
+            try (CheckedInputStream in = new CheckedInputStream(source.open(), new CRC32())) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+                crc = in.getChecksum().getValue();
+            }
+            if (size != key.size || crc != key.crc) {
+                throw new IOException("Content of " + file.getFileName() + " does not match its fingerprint");
+            }
+
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                if (!Files.isRegularFile(file) || !verify(file, key)) {
+                    throw e;
+                }
+                // Another game instance wrote the same entry first
+            }
+            FMODLog.info("Extracted to FMOD disk cache: " + root().relativize(file) + " (" + size + " bytes)");
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static boolean hasSize(Path file, Key key) {
+        try {
+            if (Files.size(file) == key.size) {
+                return true;
+            }
+            FMODLog.warn("Corrupt FMOD disk cache entry (size mismatch), extracting again: " + file);
+        } catch (IOException e) {
+            FMODLog.warn("Failed to check FMOD disk cache entry " + file + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Integrity check: size and CRC32 of the file must match the key
+     */
+    private static boolean verify(Path file, Key key) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != key.size) {
+                FMODLog.warn("Corrupt FMOD disk cache entry (size mismatch), extracting again: " + file);
+                return false;
+            }
+
+            CRC32 crc = new CRC32();
+            long position = 0;
+            // Checksummed in mapped windows - the pages stay cached for the load that follows
+            while (position < key.size) {
+                long length = Math.min(key.size - position, Integer.MAX_VALUE);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                crc.update(window);
+                position += length;
+            }
+            if (crc.getValue() != key.crc) {
+                FMODLog.warn("Corrupt FMOD disk cache entry (checksum mismatch), extracting again: " + file);
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            FMODLog.warn("Failed to verify FMOD disk cache entry " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Fingerprint from the "zip:" attributes of resources served by a zip file system
+     */
+    private static Key zipAttributesKey(URL resource) {
+        try {
+            Path path = Path.of(resource.toURI());
+            Object crc = Files.getAttribute(path, "zip:crc");
+            Object size = Files.getAttribute(path, "zip:size");
+            if (crc instanceof Long crcValue && size instanceof Long sizeValue && crcValue != -1 && sizeValue != -1) {
+                return new Key(crcValue, sizeValue);
+            }
+        } catch (Exception e) {
+            // Not a zip file system, or its provider isn't installed - fall back to hashing the content
+        }
+        return null;
+    }
+
+    /**
+     * Cheap fingerprint of where a resource comes from: size and modification time of the resource and,
+     * for resources inside an archive, of the archive itself - a replaced mod file changes the stamp even
+     * when its entries carry fixed timestamps.
+     * @return Stamp, or null if the source can't be stamped and has to be hashed every time
+     */
+    static String stampOf(URL resource) {
+        StringBuilder stamp = new StringBuilder();
+        Path archive = archiveOf(resource);
+        if (archive != null) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(archive, BasicFileAttributes.class);
+                stamp.append(archive).append('|').append(attributes.size()).append('|')
+                    .append(attributes.lastModifiedTime().toMillis()).append('|');
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(Path.of(resource.toURI()), BasicFileAttributes.class);
+            long modified = attributes.lastModifiedTime().toMillis();
+            if (archive == null && modified <= 0) {
+                return null; // Nothing that would change with the content
+            }
+            return stamp.append(attributes.size()).append('|').append(modified).toString();
+        } catch (Exception e) {
+            // No file system provider for the URL - the archive alone still identifies the content
+            return archive != null ? stamp.append(resource.getPath()).toString() : null;
+        }
+    }
+
+    /**
+     * Archive file of a resource URL of the form scheme:/path/to/mod.jar[#n]!/entry, or null
+     */
+    private static Path archiveOf(URL resource) {
+        String url = resource.toString();
+        int separator = url.indexOf("!/");
+        if (separator < 0) {
+            return null;
+        }
+        String location = url.substring(0, separator);
+        // Strip nested schemes (jar:file:, union:) and the file system index some of them append
+        location = location.replaceFirst("^([a-z]+:)+", "");
+        location = URLDecoder.decode(location, StandardCharsets.UTF_8).replaceFirst("#\\d+$", "");
+        try {
+            Path archive = Path.of(location);
+            if (!Files.isRegularFile(archive) && location.length() > 2 && location.charAt(0) == '/' && location.charAt(2) == ':') {
+                archive = Path.of(location.substring(1)); // "/C:/..." on Windows
+            }
+            return Files.isRegularFile(archive) ? archive : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    private static synchronized Key knownKey(String name, String stamp) {
+        String recorded = loadStamps().getProperty(name);
+        String prefix = stamp + "=";
+        if (recorded == null || !recorded.startsWith(prefix)) {
+            return null;
+        }
+        String[] parts = recorded.substring(prefix.length()).split(":");
+        try {
+            return new Key(Long.parseLong(parts[0], 16), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static synchronized void rememberKey(String name, String stamp, Key key) {
+        Properties current = loadStamps();
+        current.setProperty(name, stamp + "=" + Long.toHexString(key.crc) + ":" + key.size);
+
+        Path file = root().resolve("stamps.properties");
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "stamps", ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    current.store(out, "FMOD API disk cache - source stamps of hashed resources");
+                }
+                // Another game instance may write concurrently - the last one wins, the other rehashes next time
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            FMODLog.debug("Could not save FMOD disk cache stamps: " + e.getMessage());
+        }
+    }
+
+    private static Properties loadStamps() {
+        if (stamps == null) {
+            stamps = new Properties();
+            Path file = root().resolve("stamps.properties");
+            if (Files.isRegularFile(file)) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    stamps.load(in);
+                } catch (IOException e) {
+                    FMODLog.warn("Ignoring unreadable FMOD disk cache stamps: " + e.getMessage());
+                    stamps.clear();
+                }
+            }
+        }
+        return stamps;
+    }
+
+    // Updates the LRU order - the modification time of an entry is its last use
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            // Only affects eviction order
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
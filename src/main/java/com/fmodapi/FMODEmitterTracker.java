@@ -0,0 +1,261 @@
+package com.fmodapi;
+
+import net.minecraft.world.entity.Entity;
+
+import java.util.Arrays;
+
+/**
+ * Keeps sounds attached to moving things (entities, projectiles, vehicles) in place.
+ *
+ * Each binding ties an instance id to a {@link PositionSource}. All sources are sampled in one pass per
+ * client tick; velocity is derived from the movement between samples. Between ticks, render frames
+ * dead-reckon the position along that velocity. FMOD only receives an update when the emitter has moved
+ * away from the position it last got (or changed velocity) by more than a threshold - the same change
+ * detection FMODListenerTracker uses. Bindings end by themselves when the sound finishes or the source
+ * reports that it is gone.
+ *
+ * Bindings are stored in parallel primitive arrays; the per-tick and per-frame passes don't allocate.
+ * Game thread only.
+ */
+public class FMODEmitterTracker {
+
+    /**
+     * Current position of an emitter
+     */
+    @FunctionalInterface
+    public interface PositionSource {
+        /**
+         * Write the current position into out[0], out[1], out[2]
+         * @return false once the emitter is gone - the binding is dropped, the sound keeps playing where it is
+         */
+        boolean sample(double[] out);
+    }
+
+    private static final int INITIAL_CAPACITY = 32;
+    private static final double TICKS_PER_SECOND = 20.0;
+    // Longest dead-reckoning stretch - beyond one tick a fresh sample is overdue (lag, paused game)
+    private static final long MAX_EXTRAPOLATION_NANOS = 50_000_000L;
+
+    // Thresholds for change detection
+    private static final double POSITION_THRESHOLD = 0.05; // 5cm
+    private static final double VELOCITY_THRESHOLD = 0.1;  // 0.1 blocks per second
+
+    private static long[] ids = new long[INITIAL_CAPACITY];
+    private static PositionSource[] sources = new PositionSource[INITIAL_CAPACITY];
+    private static long[] sampleTimes = new long[INITIAL_CAPACITY];
+    // Last sample and the velocity (blocks per second) derived from it - NaN until the first sample
+    private static double[] sampleX = new double[INITIAL_CAPACITY];
+    private static double[] sampleY = new double[INITIAL_CAPACITY];
+    private static double[] sampleZ = new double[INITIAL_CAPACITY];
+    private static double[] velX = new double[INITIAL_CAPACITY];
+    private static double[] velY = new double[INITIAL_CAPACITY];
+    private static double[] velZ = new double[INITIAL_CAPACITY];
+    // What FMOD currently has
+    private static double[] pushedX = new double[INITIAL_CAPACITY];
+    private static double[] pushedY = new double[INITIAL_CAPACITY];
+    private static double[] pushedZ = new double[INITIAL_CAPACITY];
+    private static double[] pushedVelX = new double[INITIAL_CAPACITY];
+    private static double[] pushedVelY = new double[INITIAL_CAPACITY];
+    private static double[] pushedVelZ = new double[INITIAL_CAPACITY];
+    private static int count = 0;
+
+    private static final double[] scratch = new double[3];
+    private static long pushCount = 0;
+
+    /**
+     * Position source following an entity, ending when the entity is removed
+     */
+    public static PositionSource entity(Entity entity) {
+        return out -> {
+            if (entity.isRemoved()) {
+                return false;
+            }
+            out[0] = entity.getX();
+            out[1] = entity.getY();
+            out[2] = entity.getZ();
+            return true;
+        };
+    }
+
+    /**
+     * Attach a playing instance to a position source, replacing an earlier binding of the same instance.
+     * The source is sampled right away.
+     */
+    static void bind(long instanceId, PositionSource source) {
+        if (instanceId == FMODInstanceRegistry.INVALID_ID || instanceId == FMODInstanceRegistry.DROPPED_ID) {
+            return;
+        }
+        unbind(instanceId);
+
+        if (count == ids.length) {
+            grow();
+        }
+        int i = count++;
+        ids[i] = instanceId;
+        sources[i] = source;
+        sampleX[i] = Double.NaN;
+        pushedX[i] = Double.NaN;
+        velX[i] = velY[i] = velZ[i] = 0;
+        pushedVelX[i] = pushedVelY[i] = pushedVelZ[i] = 0;
+
+        if (!sample(i, System.nanoTime())) {
+            removeAt(i);
+        }
+    }
+
+    /**
+     * Detach an instance; it stays where it was last placed
+     */
+    static void unbind(long instanceId) {
+        for (int i = 0; i < count; i++) {
+            if (ids[i] == instanceId) {
+                removeAt(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sample every source and push the emitters that moved. Called once per tick from FMODSystem.update().
+     */
+    static void update() {
+        if (count == 0) {
+            return;
+        }
+
+        FMODInstanceRegistry instances = FMODSystem.getInstanceRegistry();
+        long now = System.nanoTime();
+        for (int i = count - 1; i >= 0; i--) {
+            // Finished, stopped or stolen - nothing left to move
+            if (!instances.contains(ids[i]) || !sample(i, now)) {
+                removeAt(i);
+            }
+        }
+    }
+
+    /**
+     * Dead-reckon the emitters along their velocity between ticks. Called every render frame.
+     */
+    static void extrapolate() {
+        if (count == 0 || !FMODAPI.isAvailable()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            if (velX[i] == 0 && velY[i] == 0 && velZ[i] == 0) {
+                continue;
+            }
+            double seconds = Math.min(now - sampleTimes[i], MAX_EXTRAPOLATION_NANOS) / 1_000_000_000.0;
+            pushIfChanged(i, sampleX[i] + velX[i] * seconds, sampleY[i] + velY[i] * seconds,
+                sampleZ[i] + velZ[i] * seconds);
+        }
+    }
+
+    /**
+     * Drop every binding (FMOD shutdown)
+     */
+    static void clear() {
+        Arrays.fill(sources, 0, count, null);
+        count = 0;
+    }
+
+    /**
+     * Number of bound emitters
+     */
+    public static int getBoundCount() {
+        return count;
+    }
+
+    /**
+     * Number of 3D attribute updates sent to FMOD
+     */
+    public static long getPushCount() {
+        return pushCount;
+    }
+
+    private static boolean sample(int i, long now) {
+        if (!sources[i].sample(scratch)) {
+            return false;
+        }
+
+        double x = scratch[0];
+        double y = scratch[1];
+        double z = scratch[2];
+        if (!Double.isNaN(sampleX[i])) {
+            // Entities move once per tick - the delta of one tick is their velocity
+            velX[i] = (x - sampleX[i]) * TICKS_PER_SECOND;
+            velY[i] = (y - sampleY[i]) * TICKS_PER_SECOND;
+            velZ[i] = (z - sampleZ[i]) * TICKS_PER_SECOND;
+        }
+        sampleX[i] = x;
+        sampleY[i] = y;
+        sampleZ[i] = z;
+        sampleTimes[i] = now;
+
+        pushIfChanged(i, x, y, z);
+        return true;
+    }
+
+    private static void pushIfChanged(int i, double x, double y, double z) {
+        boolean positionChanged = Double.isNaN(pushedX[i])
+            || Math.abs(x - pushedX[i]) > POSITION_THRESHOLD
+            || Math.abs(y - pushedY[i]) > POSITION_THRESHOLD
+            || Math.abs(z - pushedZ[i]) > POSITION_THRESHOLD;
+        boolean velocityChanged = Math.abs(velX[i] - pushedVelX[i]) > VELOCITY_THRESHOLD
+            || Math.abs(velY[i] - pushedVelY[i]) > VELOCITY_THRESHOLD
+            || Math.abs(velZ[i] - pushedVelZ[i]) > VELOCITY_THRESHOLD;
+        if (!positionChanged && !velocityChanged) {
+            return;
+        }
+
+        FMODAPI.set3DAttributes(ids[i], x, y, z, velX[i], velY[i], velZ[i]);
+        pushedX[i] = x;
+        pushedY[i] = y;
+        pushedZ[i] = z;
+        pushedVelX[i] = velX[i];
+        pushedVelY[i] = velY[i];
+        pushedVelZ[i] = velZ[i];
+        pushCount++;
+    }
+
+    // Swap-remove - binding order doesn't matter
+    private static void removeAt(int i) {
+        int last = --count;
+        ids[i] = ids[last];
+        sources[i] = sources[last];
+        sampleTimes[i] = sampleTimes[last];
+        sampleX[i] = sampleX[last];
+        sampleY[i] = sampleY[last];
+        sampleZ[i] = sampleZ[last];
+        velX[i] = velX[last];
+        velY[i] = velY[last];
+        velZ[i] = velZ[last];
+        pushedX[i] = pushedX[last];
+        pushedY[i] = pushedY[last];
+        pushedZ[i] = pushedZ[last];
+        pushedVelX[i] = pushedVelX[last];
+        pushedVelY[i] = pushedVelY[last];
+        pushedVelZ[i] = pushedVelZ[last];
+        sources[last] = null;
+    }
+
+    private static void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        sources = Arrays.copyOf(sources, capacity);
+        sampleTimes = Arrays.copyOf(sampleTimes, capacity);
+        sampleX = Arrays.copyOf(sampleX, capacity);
+        sampleY = Arrays.copyOf(sampleY, capacity);
+        sampleZ = Arrays.copyOf(sampleZ, capacity);
+        velX = Arrays.copyOf(velX, capacity);
+        velY = Arrays.copyOf(velY, capacity);
+        velZ = Arrays.copyOf(velZ, capacity);
+        pushedX = Arrays.copyOf(pushedX, capacity);
+        pushedY = Arrays.copyOf(pushedY, capacity);
+        pushedZ = Arrays.copyOf(pushedZ, capacity);
+        pushedVelX = Arrays.copyOf(pushedVelX, capacity);
+        pushedVelY = Arrays.copyOf(pushedVelY, capacity);
+        pushedVelZ = Arrays.copyOf(pushedVelZ, capacity);
+    }
+}
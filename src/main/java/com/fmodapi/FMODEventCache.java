@@ -0,0 +1,200 @@
+package com.fmodapi;
+
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.fmod.FMOD;
+import org.lwjgl.fmod.FMODStudio;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of resolved FMOD event descriptions, keyed by event name.
+ * Handles returned from here are stable for the lifetime of the process - when a bank is
+ * unloaded the handle is only cleared and will be resolved again on next use.
+ * Failed lookups are cached too, until the next bank is loaded, so playing an unknown event
+ * neither asks FMOD nor logs again on every call.
+ */
+public class FMODEventCache {
+
+    private static final Map<String, FMODAPI.EventHandle> handles = new ConcurrentHashMap<>();
+
+    // Bumped whenever the set of loaded events may have grown - cached misses of older generations are retried
+    private static volatile int bankGeneration;
+
+    /**
+     * Get (or create) the handle for an event name. Does not touch FMOD.
+     * @param eventName FMOD event name (without "event:/" prefix)
+     */
+    static FMODAPI.EventHandle getHandle(String eventName) {
+        return handles.computeIfAbsent(eventName, FMODAPI.EventHandle::new);
+    }
+
+    /**
+     * Resolve the event description of a handle, looking it up in FMOD only if it is not cached yet.
+     * @return Event description pointer, or 0 if the event could not be found
+     */
+    static long resolve(FMODAPI.EventHandle handle) {
+        return resolve(handle, true);
+    }
+
+    /**
+     * Resolve the event description of a handle
+     * @param logMissing false to look up events that may legitimately not be loaded yet
+     * @return Event description pointer, or 0 if the event could not be found
+     */
+    static long resolve(FMODAPI.EventHandle handle, boolean logMissing) {
+        long description = handle.description;
+        if (description != 0) {
+            return description;
+        }
+
+        int generation = bankGeneration;
+        if (handle.missingGeneration == generation) {
+            if (logMissing && handle.loggedGeneration != generation) {
+                handle.loggedGeneration = generation;
+                FMODLog.error("Failed to find event: " + handle.eventName);
+            }
+            return 0;
+        }
+
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            PointerBuffer descPtr = stack.mallocPointer(1);
+            int result = FMODStudio.FMOD_Studio_System_GetEvent(
+                FMODSystem.getSystemHandle(),
+                stack.UTF8("event:/" + handle.eventName),
+                descPtr
+            );
+
+            if (result != FMOD.FMOD_OK) {
+                handle.missingGeneration = generation;
+                if (logMissing) {
+                    handle.loggedGeneration = generation;
+                    FMODLog.error("Failed to find event: " + handle.eventName + " (error: " + result + ")");
+                }
+                return 0;
+            }
+
+            description = descPtr.get(0);
+
+            // Cache the metadata the instance reaper needs, so it never has to ask FMOD per instance
+            IntBuffer value = stack.mallocInt(1);
+            handle.oneshot = FMODStudio.FMOD_Studio_EventDescription_IsOneshot(description, value) == FMOD.FMOD_OK
+                && value.get(0) != 0;
+            handle.lengthMs = FMODStudio.FMOD_Studio_EventDescription_GetLength(description, value) == FMOD.FMOD_OK
+                ? value.get(0) : 0;
+
+            // Max distance for distance culling - FMODAudioLod never culls 2D events
+            FloatBuffer maxDistance = stack.mallocFloat(1);
+            boolean is3D = FMODStudio.FMOD_Studio_EventDescription_Is3D(description, value) == FMOD.FMOD_OK
+                && value.get(0) != 0;
+            handle.maxDistance = is3D
+                && FMODStudio.FMOD_Studio_EventDescription_GetMinMaxDistance(description, null, maxDistance) == FMOD.FMOD_OK
+                ? maxDistance.get(0) : 0f;
+
+            handle.description = description;
+            return description;
+        }
+    }
+
+    /**
+     * Invalidate all cached descriptions that belong to a bank.
+     * Must be called while the bank is still loaded, as the bank's event list is read from FMOD.
+     * @param bank Bank handle about to be unloaded or replaced
+     */
+    static void invalidateBank(long bank) {
+        if (bank == 0 || handles.isEmpty()) {
+            return;
+        }
+
+        long[] descriptions;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer count = stack.mallocInt(1);
+            int result = FMODStudio.FMOD_Studio_Bank_GetEventCount(bank, count);
+            if (result != FMOD.FMOD_OK) {
+                // Can't tell which events live in this bank - drop everything to be safe
+                invalidateAll();
+                return;
+            }
+
+            int eventCount = count.get(0);
+            if (eventCount == 0) {
+                return;
+            }
+
+            PointerBuffer eventList = MemoryUtil.memAllocPointer(eventCount);
+            try {
+                result = FMODStudio.FMOD_Studio_Bank_GetEventList(bank, eventList, count);
+                if (result != FMOD.FMOD_OK) {
+                    invalidateAll();
+                    return;
+                }
+
+                descriptions = new long[count.get(0)];
+                for (int i = 0; i < descriptions.length; i++) {
+                    descriptions[i] = eventList.get(i);
+                }
+            } finally {
+                MemoryUtil.memFree(eventList);
+            }
+        }
+
+        Arrays.sort(descriptions);
+        int invalidated = 0;
+        for (FMODAPI.EventHandle handle : handles.values()) {
+            long description = handle.description;
+            if (description != 0 && Arrays.binarySearch(descriptions, description) >= 0) {
+                FMODInstancePool.discard(handle);
+                handle.description = 0;
+                invalidated++;
+            }
+        }
+
+        if (invalidated > 0) {
+            FMODLog.info("Invalidated " + invalidated + " cached event descriptions for unloaded bank");
+        }
+    }
+
+    /**
+     * Invalidate every cached description (FMOD shutdown or full reload)
+     */
+    static void invalidateAll() {
+        for (FMODAPI.EventHandle handle : handles.values()) {
+            FMODInstancePool.discard(handle);
+            handle.description = 0;
+        }
+        onBankLoaded();
+    }
+
+    /**
+     * Forget cached misses - a bank has been loaded and may define events that were missing before
+     */
+    static void onBankLoaded() {
+        bankGeneration++;
+    }
+
+    /**
+     * Number of event names known to the cache (resolved or not)
+     */
+    static int size() {
+        return handles.size();
+    }
+
+    /**
+     * Number of event names whose last lookup failed and hasn't been retried since
+     */
+    static int getMissingCount() {
+        int generation = bankGeneration;
+        int missing = 0;
+        for (FMODAPI.EventHandle handle : handles.values()) {
+            if (handle.description == 0 && handle.missingGeneration == generation) {
+                missing++;
+            }
+        }
+        return missing;
+    }
+}
@@ -0,0 +1,288 @@
+package com.fmodapi;
+
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.fmod.FMOD;
+import org.lwjgl.fmod.FMODStudio;
+import org.lwjgl.fmod.FMOD_STUDIO_PARAMETER_DESCRIPTION;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Optional per-event pools of idle event instances.
+ *
+ * Finished one-shot instances are not released but reset - local parameters back to their defaults -
+ * and kept for the next playback of the same event, which then skips EventDescription_CreateInstance
+ * and the later EventInstance_Release. Pool capacity comes from config (a default plus per-event
+ * sizes) or from {@link FMODAPI#setInstancePoolSize}; warm-up pre-creates instances once the bank
+ * holding the event has loaded. Pooled instances are released when their bank is unloaded.
+ */
+public class FMODInstancePool {
+
+    /**
+     * Idle instances of one event. Guarded by the FMODInstancePool class lock.
+     */
+    static final class Pool {
+        long description; // description the idle instances belong to, 0 once discarded
+        long[] idle = new long[0];
+        int count;
+        int capacity;
+
+        // Local, writable parameters - reset to their defaults when an instance is recycled
+        ByteBuffer[] parameterNames = new ByteBuffer[0];
+        float[] parameterDefaults = new float[0];
+    }
+
+    private static final Map<String, Integer> capacityOverrides = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> warmUps = new ConcurrentHashMap<>();
+    private static final List<FMODAPI.EventHandle> pooledEvents = new CopyOnWriteArrayList<>();
+
+    private static long reusedCount = 0;
+
+    /**
+     * Take an idle instance of an event
+     * @return Native instance handle, or 0 if none is available
+     */
+    static synchronized long take(FMODAPI.EventHandle event) {
+        Pool pool = event.pool;
+        if (pool == null || pool.count == 0 || pool.description != event.description) {
+            return 0;
+        }
+        reusedCount++;
+        return pool.idle[--pool.count];
+    }
+
+    /**
+     * Hand back an instance that has finished playing: kept for reuse if its event is a pooled
+     * one-shot with room left, released otherwise. No longer tracked in the registry.
+     * @param event Event the instance was created from, or null if unknown
+     */
+    static void recycle(FMODAPI.EventHandle event, long instance) {
+        // Pooling is off by default - don't take the lock, or set up a pool, only to reject the instance
+        if (event == null || !event.oneshot || capacityFor(event.eventName) == 0 || !offer(event, instance)) {
+            FMODStudio.FMOD_Studio_EventInstance_Release(instance);
+        }
+    }
+
+    /**
+     * Set how many idle instances of an event are kept, overriding the config
+     * @param eventName FMOD event name (without "event:/" prefix)
+     * @param capacity Idle instances to keep (0 disables pooling for the event)
+     */
+    static void setCapacity(String eventName, int capacity) {
+        capacityOverrides.put(eventName, Math.max(0, capacity));
+        FMODAPI.EventHandle event = FMODEventCache.getHandle(eventName);
+        synchronized (FMODInstancePool.class) {
+            if (event.pool != null) {
+                resize(event.pool, capacityFor(eventName));
+            }
+        }
+    }
+
+    /**
+     * Keep a number of instances of an event ready. Created right away if the event is loaded,
+     * otherwise whenever a bank finishes loading - also again after the bank is reloaded.
+     */
+    static void warmUp(String eventName, int count) {
+        if (count <= 0) {
+            warmUps.remove(eventName);
+            return;
+        }
+        warmUps.put(eventName, count);
+        setCapacity(eventName, Math.max(count, capacityFor(eventName)));
+
+        if (FMODAPI.isAvailable()) {
+            prefill(FMODEventCache.getHandle(eventName), count);
+        }
+    }
+
+    /**
+     * Create the warm-up instances of events that have become available. Called when a bank has loaded.
+     */
+    static void onBankLoaded() {
+        if (warmUps.isEmpty() || !FMODAPI.isAvailable()) {
+            return;
+        }
+        for (Map.Entry<String, Integer> warmUp : warmUps.entrySet()) {
+            prefill(FMODEventCache.getHandle(warmUp.getKey()), warmUp.getValue());
+        }
+    }
+
+    /**
+     * Release the idle instances of an event whose description is going away.
+     * Must be called while its bank is still loaded.
+     */
+    static synchronized void discard(FMODAPI.EventHandle event) {
+        Pool pool = event.pool;
+        if (pool == null) {
+            return;
+        }
+        for (int i = 0; i < pool.count; i++) {
+            FMODStudio.FMOD_Studio_EventInstance_Release(pool.idle[i]);
+        }
+        pool.count = 0;
+        pool.description = 0;
+        freeParameters(pool);
+    }
+
+    /**
+     * Apply changed pool sizes from the config. Called on config reload.
+     */
+    static synchronized void applyConfig() {
+        for (FMODAPI.EventHandle event : pooledEvents) {
+            resize(event.pool, capacityFor(event.eventName));
+        }
+    }
+
+    /**
+     * Number of idle instances across all pools
+     */
+    public static synchronized int getIdleCount() {
+        int idle = 0;
+        for (FMODAPI.EventHandle event : pooledEvents) {
+            idle += event.pool.count;
+        }
+        return idle;
+    }
+
+    /**
+     * Number of playbacks that reused a pooled instance
+     */
+    public static synchronized long getReusedCount() {
+        return reusedCount;
+    }
+
+    private static synchronized boolean offer(FMODAPI.EventHandle event, long instance) {
+        long description = event.description;
+        if (description == 0) {
+            return false;
+        }
+
+        Pool pool = poolOf(event, description);
+        if (pool.count >= pool.capacity) {
+            return false;
+        }
+
+        // Reset - the next playback sets position, volume and pitch itself
+        for (int i = 0; i < pool.parameterNames.length; i++) {
+            FMODStudio.FMOD_Studio_EventInstance_SetParameterByName(instance, pool.parameterNames[i], pool.parameterDefaults[i], 1);
+        }
+        // A late callback must not report the idle instance under its old id
+        FMODStudio.FMOD_Studio_EventInstance_SetUserData(instance, FMODInstanceRegistry.INVALID_ID);
+
+        pool.idle[pool.count++] = instance;
+        return true;
+    }
+
+    private static synchronized void prefill(FMODAPI.EventHandle event, int count) {
+        long description = FMODEventCache.resolve(event, false);
+        if (description == 0) {
+            return; // Not loaded yet - retried when the next bank loads
+        }
+        if (!event.oneshot) {
+            FMODLog.warn("Not warming up " + event.eventName + " - only one-shot events are pooled");
+            warmUps.remove(event.eventName);
+            return;
+        }
+
+        Pool pool = poolOf(event, description);
+        int target = Math.min(count, pool.capacity);
+        int created = 0;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            PointerBuffer instancePtr = stack.mallocPointer(1);
+            while (pool.count < target) {
+                int result = FMODStudio.FMOD_Studio_EventDescription_CreateInstance(description, instancePtr);
+                if (result != FMOD.FMOD_OK) {
+                    FMODLog.error("Failed to warm up " + event.eventName + " (error: " + result + ")");
+                    break;
+                }
+                pool.idle[pool.count++] = instancePtr.get(0);
+                created++;
+            }
+        }
+
+        if (created > 0) {
+            FMODLog.debug("Warmed up " + created + " instances of " + event.eventName);
+        }
+    }
+
+    private static Pool poolOf(FMODAPI.EventHandle event, long description) {
+        Pool pool = event.pool;
+        if (pool == null) {
+            pool = new Pool();
+            event.pool = pool;
+            pooledEvents.add(event);
+            resize(pool, capacityFor(event.eventName));
+        }
+        if (pool.description != description) {
+            // New or reloaded event - idle instances were discarded with the old description
+            pool.description = description;
+            loadParameters(pool, description);
+        }
+        return pool;
+    }
+
+    private static void resize(Pool pool, int capacity) {
+        while (pool.count > capacity) {
+            FMODStudio.FMOD_Studio_EventInstance_Release(pool.idle[--pool.count]);
+        }
+        pool.capacity = capacity;
+        if (pool.idle.length < capacity) {
+            pool.idle = Arrays.copyOf(pool.idle, capacity);
+        }
+    }
+
+    private static int capacityFor(String eventName) {
+        Integer override = capacityOverrides.get(eventName);
+        if (override != null) {
+            return override;
+        }
+        FMODConfig.Snapshot config = FMODConfig.snapshot();
+        return config.instancePoolSizes.getOrDefault(eventName, config.instancePoolSize);
+    }
+
+    private static void loadParameters(Pool pool, long description) {
+        freeParameters(pool);
+
+        List<ByteBuffer> names = new ArrayList<>();
+        List<Float> defaults = new ArrayList<>();
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer count = stack.mallocInt(1);
+            if (FMODStudio.FMOD_Studio_EventDescription_GetParameterDescriptionCount(description, count) == FMOD.FMOD_OK) {
+                FMOD_STUDIO_PARAMETER_DESCRIPTION parameter = FMOD_STUDIO_PARAMETER_DESCRIPTION.malloc(stack);
+                int skipped = FMODStudio.FMOD_STUDIO_PARAMETER_READONLY | FMODStudio.FMOD_STUDIO_PARAMETER_AUTOMATIC
+                    | FMODStudio.FMOD_STUDIO_PARAMETER_GLOBAL;
+                for (int i = 0; i < count.get(0); i++) {
+                    if (FMODStudio.FMOD_Studio_EventDescription_GetParameterDescriptionByIndex(description, i, parameter) == FMOD.FMOD_OK
+                        && (parameter.flags() & skipped) == 0) {
+                        // Encoded once - resets don't allocate
+                        names.add(MemoryUtil.memUTF8(parameter.nameString()));
+                        defaults.add(parameter.defaultvalue());
+                    }
+                }
+            }
+        }
+
+        pool.parameterNames = names.toArray(new ByteBuffer[0]);
+        pool.parameterDefaults = new float[defaults.size()];
+        for (int i = 0; i < pool.parameterDefaults.length; i++) {
+            pool.parameterDefaults[i] = defaults.get(i);
+        }
+    }
+
+    private static void freeParameters(Pool pool) {
+        for (ByteBuffer name : pool.parameterNames) {
+            MemoryUtil.memFree(name);
+        }
+        pool.parameterNames = new ByteBuffer[0];
+        pool.parameterDefaults = new float[0];
+    }
+}
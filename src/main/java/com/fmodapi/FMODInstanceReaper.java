@@ -0,0 +1,184 @@
+package com.fmodapi;
+
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.fmod.FMOD;
+import org.lwjgl.fmod.FMODStudio;
+import org.lwjgl.fmod.FMOD_STUDIO_EVENT_CALLBACK;
+import org.lwjgl.system.MemoryStack;
+
+import java.nio.IntBuffer;
+
+/**
+ * Releases finished event instances.
+ *
+ * Instances report their own end through an FMOD event callback (STOPPED / DESTROYED), which queues
+ * their id for release on the next tick. As a safety net for instances whose callback was missed,
+ * a bounded slice of the registry is polled each tick, round-robin. Cached per-event metadata lets
+ * one-shots that cannot have finished yet be skipped, and at most one native call is made per
+ * polled instance.
+ */
+public class FMODInstanceReaper {
+
+    // Marks ids of instances FMOD already destroyed - they must be forgotten, not released.
+    // Generations never use the top bit, so it is free for this.
+    private static final long DESTROYED_FLAG = 1L << 63;
+
+    // Tolerance before a one-shot is considered finished by its length alone
+    private static final long ONESHOT_GRACE_NANOS = 50_000_000L;
+
+    private static final FMODLongQueue finishedQueue = new FMODLongQueue(4096);
+    // Created in init() and freed in shutdown(), both under the FMODSystem lock; read by any thread starting sounds
+    private static volatile FMOD_STUDIO_EVENT_CALLBACK eventCallback;
+    private static int cursor = 0;
+
+    /**
+     * Attach the finished-instance callback to a newly started instance
+     * @param instance Native event instance handle
+     * @param instanceId Registry id of the instance
+     */
+    static void watch(long instance, long instanceId) {
+        FMODStudio.FMOD_Studio_EventInstance_SetUserData(instance, instanceId);
+        FMOD_STUDIO_EVENT_CALLBACK callback = eventCallback;
+        if (callback != null) {
+            // Without it the polling pass still finds the instance
+            FMODStudio.FMOD_Studio_EventInstance_SetCallback(instance, callback,
+                FMODStudio.FMOD_STUDIO_EVENT_CALLBACK_STOPPED | FMODStudio.FMOD_STUDIO_EVENT_CALLBACK_DESTROYED);
+        }
+    }
+
+    /**
+     * Create the native callback. Called from FMODSystem.init() before any instance is started.
+     */
+    static void init() {
+        if (eventCallback == null) {
+            eventCallback = FMOD_STUDIO_EVENT_CALLBACK.create(FMODInstanceReaper::onEventCallback);
+        }
+    }
+
+    /**
+     * Release queued finished instances, then poll the next slice of the registry.
+     * Called once per tick from FMODSystem.update().
+     */
+    static void update(FMODInstanceRegistry instances) {
+        int cleanedCount = drainFinished(instances);
+        cleanedCount += pollSlice(instances, FMODConfig.snapshot().reaperBudget);
+
+        if (cleanedCount > 0 && FMODLog.isDebugEnabled()) {
+            FMODLog.debug("Cleaned up " + cleanedCount + " finished FMOD instances");
+        }
+    }
+
+    /**
+     * Free the native callback - only once the FMOD system has been released and the audio thread has exited
+     */
+    static void shutdown() {
+        while (finishedQueue.poll()) {
+            // Discard - every instance is gone together with the system
+        }
+        cursor = 0;
+        if (eventCallback != null) {
+            eventCallback.free();
+            eventCallback = null;
+        }
+    }
+
+    private static int drainFinished(FMODInstanceRegistry instances) {
+        int cleanedCount = 0;
+        while (finishedQueue.poll()) {
+            long queued = finishedQueue.lastPolled();
+            long instanceId = queued & ~DESTROYED_FLAG;
+
+            // A stale id (already reaped or released) simply doesn't match anymore
+            FMODAPI.EventHandle event = instances.eventOf(instanceId);
+            long instance = instances.remove(instanceId);
+            if (instance == 0) {
+                continue;
+            }
+
+            if ((queued & DESTROYED_FLAG) == 0) {
+                // Stopped - a finished one-shot may go back to its event's pool
+                FMODInstancePool.recycle(event, instance);
+            }
+            cleanedCount++;
+        }
+        return cleanedCount;
+    }
+
+    private static int pollSlice(FMODInstanceRegistry instances, int budget) {
+        int end = instances.highWater();
+        if (end == 0 || instances.isEmpty()) {
+            return 0;
+        }
+
+        int cleanedCount = 0;
+        int checks = Math.min(budget, end);
+        long now = System.nanoTime();
+
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer playbackState = stack.mallocInt(1);
+
+            for (int i = 0; i < checks; i++) {
+                if (cursor >= end) {
+                    cursor = 0;
+                }
+                int slot = cursor++;
+
+                long instance = instances.handleAt(slot);
+                if (instance == 0) {
+                    continue;
+                }
+
+                FMODAPI.EventHandle event = instances.eventAt(slot);
+                if (event != null && event.oneshot && event.lengthMs > 0
+                    && now - instances.startTimeAt(slot) < event.lengthMs * 1_000_000L - ONESHOT_GRACE_NANOS) {
+                    // One-shot that can't have reached its end yet - an early stop arrives via the callback
+                    continue;
+                }
+
+                boolean shouldCleanup;
+                boolean stopped = false;
+                int result = FMODStudio.FMOD_Studio_EventInstance_GetPlaybackState(instance, playbackState);
+                if (result == FMOD.FMOD_OK) {
+                    int state = playbackState.get(0);
+                    stopped = state == FMODStudio.FMOD_STUDIO_PLAYBACK_STOPPED;
+                    shouldCleanup = stopped || state == FMODStudio.FMOD_STUDIO_PLAYBACK_STOPPING;
+                } else {
+                    // Invalid instance, clean it up
+                    shouldCleanup = true;
+                }
+
+                if (shouldCleanup && instances.removeAt(slot, instance)) {
+                    if (stopped) {
+                        FMODInstancePool.recycle(event, instance);
+                    } else {
+                        // Still fading out (or invalid) - can't be reused
+                        FMODStudio.FMOD_Studio_EventInstance_Release(instance);
+                    }
+                    cleanedCount++;
+                }
+            }
+        }
+
+        return cleanedCount;
+    }
+
+    /**
+     * Runs on an FMOD thread - only reads the instance id and queues it
+     */
+    private static int onEventCallback(int type, long event, long parameters) {
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            PointerBuffer userData = stack.mallocPointer(1);
+            if (FMODStudio.FMOD_Studio_EventInstance_GetUserData(event, userData) == FMOD.FMOD_OK) {
+                long instanceId = userData.get(0);
+                if (instanceId != FMODInstanceRegistry.INVALID_ID) {
+                    // If the queue is full the polling pass picks the instance up later
+                    finishedQueue.offer(type == FMODStudio.FMOD_STUDIO_EVENT_CALLBACK_DESTROYED
+                        ? instanceId | DESTROYED_FLAG : instanceId);
+                }
+            }
+        } catch (Throwable t) {
+            // Never let an exception propagate into native code
+        }
+        return FMOD.FMOD_OK;
+    }
+}
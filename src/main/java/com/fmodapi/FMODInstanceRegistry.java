@@ -0,0 +1,548 @@
+package com.fmodapi;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Slot-based table of active FMOD event instances.
+ *
+ * Instances are stored in parallel primitive arrays and addressed by a generation-tagged id:
+ * the low 32 bits are the slot index, the high 32 bits the slot's generation. A slot's generation
+ * is bumped every time it is freed, so stale ids never resolve to a newer instance.
+ * Adding and removing instances does not allocate (except when the table grows).
+ *
+ * Positioned instances are also kept in a chunk-aligned {@link FMODSpatialIndex}, for proximity
+ * queries and for stopping the sounds of a chunk that unloads. Each instance has a {@link FMODScope}
+ * (plus an owner for entity scope) so it can be released together with whatever owns it.
+ *
+ * Mutators are package-private - only FMOD API itself changes the table. Mutations are synchronized.
+ * Scans via {@link #highWater()} / {@link #handleAt(int)} are lock-free and may observe an instance
+ * that is being released concurrently - FMOD rejects such handles safely.
+ */
+public class FMODInstanceRegistry {
+
+    /** Id value that never refers to an instance - FMOD is unavailable or failed, use OpenAL instead */
+    public static final long INVALID_ID = 0L;
+
+    /**
+     * Id returned for a sound FMOD deliberately did not play (instance limit, throttling). Never refers to
+     * an instance - the sound must not be replayed through OpenAL.
+     */
+    public static final long DROPPED_ID = -1L;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private long[] handles = new long[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+    private FMODAPI.EventHandle[] events = new FMODAPI.EventHandle[INITIAL_CAPACITY];
+    private boolean[] live = new boolean[INITIAL_CAPACITY];
+    private long[] startTimes = new long[INITIAL_CAPACITY];
+
+    // Emitter state used for voice stealing - positions are NaN for 2D sounds
+    private float[] posX = new float[INITIAL_CAPACITY];
+    private float[] posY = new float[INITIAL_CAPACITY];
+    private float[] posZ = new float[INITIAL_CAPACITY];
+    private float[] volumes = new float[INITIAL_CAPACITY];
+    private final FMODSpatialIndex spatial = new FMODSpatialIndex(INITIAL_CAPACITY);
+
+    // Lifecycle scope (FMODScope ordinal) and owner (entity id for ENTITY) per slot
+    private byte[] scopes = new byte[INITIAL_CAPACITY];
+    private long[] owners = new long[INITIAL_CAPACITY];
+    private final int[] scopeCounts = new int[FMODScope.values().length];
+
+    // Distances of the current nearest() candidates, parallel to its output array
+    private double[] nearestDistances = new double[0];
+
+    // Handles of bulk removals (removeScope / removeChunk) - only used while holding the registry lock
+    final long[] removedHandles = new long[32];
+
+    // Stack of freed slot indices, reused before growing highWater
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeCount = 0;
+
+    // Slots [0, highWater) have been handed out at least once
+    private int highWater = 0;
+    private int size = 0;
+
+    public FMODInstanceRegistry() {
+        Arrays.fill(generations, 1);
+    }
+
+    /**
+     * Track a started instance
+     * @param instance Native event instance handle
+     * @param event Event the instance was created from
+     * @param positioned false for 2D sounds
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @param z Z coordinate
+     * @param volume Volume the instance was started with
+     * @return Generation-tagged id of the instance
+     */
+    synchronized long add(long instance, FMODAPI.EventHandle event, boolean positioned,
+                          double x, double y, double z, float volume) {
+        long id = reserve(event, positioned, x, y, z, volume);
+        handles[slotOf(id)] = instance;
+        return id;
+    }
+
+    /**
+     * Allocate an id for an instance that will be created later (e.g. on the audio thread).
+     * The slot counts as tracked but has no native handle until {@link #attach(long, long)}.
+     * @return Generation-tagged id of the reserved slot
+     */
+    synchronized long reserve(FMODAPI.EventHandle event, boolean positioned,
+                              double x, double y, double z, float volume) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (highWater == handles.length) {
+                grow();
+            }
+            slot = highWater++;
+        }
+
+        handles[slot] = 0;
+        events[slot] = event;
+        live[slot] = true;
+        startTimes[slot] = System.nanoTime();
+        posX[slot] = positioned ? (float) x : Float.NaN;
+        posY[slot] = positioned ? (float) y : Float.NaN;
+        posZ[slot] = positioned ? (float) z : Float.NaN;
+        volumes[slot] = volume;
+        if (positioned) {
+            spatial.insert(slot, x, z);
+        }
+        setScopeAt(slot, positioned ? FMODScope.CHUNK : FMODScope.WORLD, 0);
+        size++;
+        return toId(slot, generations[slot]);
+    }
+
+    /**
+     * Store the native handle of a reserved id
+     * @return false if the id was removed in the meantime - the caller still owns the instance
+     */
+    synchronized boolean attach(long id, long instance) {
+        int slot = slotOf(id);
+        if (!isCurrent(slot, id)) {
+            return false;
+        }
+        handles[slot] = instance;
+        startTimes[slot] = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * @return Native instance handle for an id, or 0 if the id is stale or not attached yet
+     */
+    public synchronized long get(long id) {
+        int slot = slotOf(id);
+        return isCurrent(slot, id) ? handles[slot] : 0;
+    }
+
+    /**
+     * Record the new position of a moving emitter
+     * @return Native instance handle for the id, or 0 if the id is stale or not attached yet
+     */
+    synchronized long move(long id, double x, double y, double z) {
+        int slot = slotOf(id);
+        if (!isCurrent(slot, id)) {
+            return 0;
+        }
+        posX[slot] = (float) x;
+        posY[slot] = (float) y;
+        posZ[slot] = (float) z;
+        if (spatial.isIndexed(slot)) {
+            spatial.update(slot, x, z);
+        } else {
+            spatial.insert(slot, x, z);
+        }
+        return handles[slot];
+    }
+
+    /**
+     * @return Event of the instance with an id, or null if the id is stale
+     */
+    public synchronized FMODAPI.EventHandle eventOf(long id) {
+        int slot = slotOf(id);
+        return isCurrent(slot, id) ? events[slot] : null;
+    }
+
+    /**
+     * @return true if the id still refers to a tracked instance
+     */
+    public synchronized boolean contains(long id) {
+        return isCurrent(slotOf(id), id);
+    }
+
+    /**
+     * Stop tracking an instance. Does not stop or release it.
+     * @return Native instance handle that was tracked, or 0 if the id is stale
+     */
+    synchronized long remove(long id) {
+        int slot = slotOf(id);
+        return isCurrent(slot, id) ? freeSlot(slot) : 0;
+    }
+
+    /**
+     * Stop tracking whatever instance occupies a slot. Does not stop or release it.
+     * @return Native instance handle that was tracked, or 0 if the slot is free
+     */
+    synchronized long removeAt(int slot) {
+        return slot < highWater && live[slot] ? freeSlot(slot) : 0;
+    }
+
+    /**
+     * Stop tracking a slot only if it still holds the given instance - for use after a lock-free scan
+     * @return true if the instance was tracked and has been removed
+     */
+    synchronized boolean removeAt(int slot, long expectedInstance) {
+        if (slot < highWater && live[slot] && handles[slot] == expectedInstance) {
+            freeSlot(slot);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Change the lifecycle scope of an instance
+     * @param owner Entity id for ENTITY scope, ignored otherwise
+     * @return false if the id is stale
+     */
+    synchronized boolean setScope(long id, FMODScope scope, long owner) {
+        int slot = slotOf(id);
+        if (!isCurrent(slot, id)) {
+            return false;
+        }
+        scopeCounts[scopes[slot]]--;
+        setScopeAt(slot, scope, owner);
+        return true;
+    }
+
+    /**
+     * Number of tracked instances in a scope - lets frequent owner events skip the scan when it is 0
+     */
+    public synchronized int scopeSize(FMODScope scope) {
+        return scopeCounts[scope.ordinal()];
+    }
+
+    /**
+     * Stop tracking the instances of a scope. Does not stop or release them.
+     * @param owner Only instances of this owner (entity id), or -1 for all of the scope
+     * @param handlesOut Receives the native handles (0 for instances not created yet)
+     * @return Number of instances removed (at most handlesOut.length) - call again while it fills the array
+     */
+    synchronized int removeScope(FMODScope scope, long owner, long[] handlesOut) {
+        int ordinal = scope.ordinal();
+        int count = 0;
+        for (int slot = 0; slot < highWater && count < handlesOut.length && scopeCounts[ordinal] > 0; slot++) {
+            if (live[slot] && scopes[slot] == ordinal && (owner == -1 || owners[slot] == owner)) {
+                handlesOut[count++] = freeSlot(slot);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Ids of the positioned instances in a chunk column
+     * @param idsOut Receives the ids
+     * @return Number of ids written (at most idsOut.length)
+     */
+    public synchronized int inChunk(int chunkX, int chunkZ, long[] idsOut) {
+        int count = 0;
+        for (int slot = spatial.first(FMODSpatialIndex.chunkKey(chunkX, chunkZ));
+             slot != FMODSpatialIndex.NONE && count < idsOut.length; slot = spatial.next(slot)) {
+            idsOut[count++] = toId(slot, generations[slot]);
+        }
+        return count;
+    }
+
+    /**
+     * Ids of the positioned instances within a radius of a point
+     * @param idsOut Receives the ids, in no particular order
+     * @return Number of ids written (at most idsOut.length)
+     */
+    public synchronized int withinRadius(double x, double y, double z, double radius, long[] idsOut) {
+        double radiusSquared = radius * radius;
+        int minChunkX = FMODSpatialIndex.chunkCoord(x - radius);
+        int maxChunkX = FMODSpatialIndex.chunkCoord(x + radius);
+        int minChunkZ = FMODSpatialIndex.chunkCoord(z - radius);
+        int maxChunkZ = FMODSpatialIndex.chunkCoord(z + radius);
+        int count = 0;
+
+        if ((long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1) > spatial.cellCount()) {
+            // The radius covers more chunks than have sounds - a linear scan is cheaper
+            for (int slot = 0; slot < highWater && count < idsOut.length; slot++) {
+                if (spatial.isIndexed(slot) && distanceSquared(slot, x, y, z) <= radiusSquared) {
+                    idsOut[count++] = toId(slot, generations[slot]);
+                }
+            }
+            return count;
+        }
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                for (int slot = spatial.first(FMODSpatialIndex.chunkKey(chunkX, chunkZ));
+                     slot != FMODSpatialIndex.NONE; slot = spatial.next(slot)) {
+                    if (distanceSquared(slot, x, y, z) <= radiusSquared) {
+                        if (count == idsOut.length) {
+                            return count;
+                        }
+                        idsOut[count++] = toId(slot, generations[slot]);
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Ids of the positioned instances nearest to a point, searching outwards ring by ring of chunks
+     * @param idsOut Receives up to idsOut.length ids, nearest first
+     * @return Number of ids written
+     */
+    public synchronized int nearest(double x, double y, double z, long[] idsOut) {
+        int limit = Math.min(idsOut.length, spatial.size());
+        if (limit == 0) {
+            return 0;
+        }
+        if (nearestDistances.length < limit) {
+            nearestDistances = new double[idsOut.length];
+        }
+
+        int centerX = FMODSpatialIndex.chunkCoord(x);
+        int centerZ = FMODSpatialIndex.chunkCoord(z);
+        int found = 0;
+        int visited = 0;
+        for (int ring = 0; visited < spatial.size(); ring++) {
+            if ((long) (2 * ring + 1) * (2 * ring + 1) > 4L * spatial.cellCount()) {
+                // Sounds are sparse and far apart - finish with a linear scan over everything
+                found = 0;
+                for (int slot = 0; slot < highWater; slot++) {
+                    if (spatial.isIndexed(slot)) {
+                        found = offerNearest(slot, distanceSquared(slot, x, y, z), idsOut, found, limit);
+                    }
+                }
+                return found;
+            }
+
+            for (int chunkX = centerX - ring; chunkX <= centerX + ring; chunkX++) {
+                // Only the border of the square - inner rings are done
+                int step = chunkX == centerX - ring || chunkX == centerX + ring ? 1 : Math.max(1, 2 * ring);
+                for (int chunkZ = centerZ - ring; chunkZ <= centerZ + ring; chunkZ += step) {
+                    for (int slot = spatial.first(FMODSpatialIndex.chunkKey(chunkX, chunkZ));
+                         slot != FMODSpatialIndex.NONE; slot = spatial.next(slot)) {
+                        found = offerNearest(slot, distanceSquared(slot, x, y, z), idsOut, found, limit);
+                        visited++;
+                    }
+                }
+            }
+
+            // Anything in the next ring is at least ring * 16 blocks away
+            double nextRingDistance = ring * 16.0;
+            if (found == limit && nextRingDistance * nextRingDistance >= nearestDistances[found - 1]) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Stop tracking the chunk-scoped instances in a chunk column. Does not stop or release them.
+     * @param handlesOut Receives the native handles (0 for instances not created yet)
+     * @return Number of instances removed (at most handlesOut.length) - call again while it fills the array
+     */
+    synchronized int removeChunk(int chunkX, int chunkZ, long[] handlesOut) {
+        int count = 0;
+        int slot = spatial.first(FMODSpatialIndex.chunkKey(chunkX, chunkZ));
+        while (slot != FMODSpatialIndex.NONE && count < handlesOut.length) {
+            // Freeing unlinks the slot - step on first
+            int next = spatial.next(slot);
+            if (scopes[slot] == FMODScope.CHUNK.ordinal()) {
+                handlesOut[count++] = freeSlot(slot);
+            }
+            slot = next;
+        }
+        return count;
+    }
+
+    /**
+     * Native handle stored in a slot, or 0 if the slot is free. Lock-free, for linear scans.
+     */
+    public long handleAt(int slot) {
+        long[] current = handles;
+        return slot < current.length ? current[slot] : 0;
+    }
+
+    /**
+     * Event of the instance stored in a slot, or null if the slot is free. Lock-free, for linear scans.
+     */
+    public FMODAPI.EventHandle eventAt(int slot) {
+        FMODAPI.EventHandle[] current = events;
+        return slot < current.length ? current[slot] : null;
+    }
+
+    /**
+     * System.nanoTime() at which the instance in a slot was added. Lock-free, for linear scans.
+     */
+    public long startTimeAt(int slot) {
+        long[] current = startTimes;
+        return slot < current.length ? current[slot] : 0;
+    }
+
+    /**
+     * Emitter position of the instance in a slot (NaN for 2D sounds). Lock-free, for linear scans.
+     */
+    public float xAt(int slot) {
+        float[] current = posX;
+        return slot < current.length ? current[slot] : Float.NaN;
+    }
+
+    public float yAt(int slot) {
+        float[] current = posY;
+        return slot < current.length ? current[slot] : Float.NaN;
+    }
+
+    public float zAt(int slot) {
+        float[] current = posZ;
+        return slot < current.length ? current[slot] : Float.NaN;
+    }
+
+    /**
+     * Volume the instance in a slot was started with. Lock-free, for linear scans.
+     */
+    public float volumeAt(int slot) {
+        float[] current = volumes;
+        return slot < current.length ? current[slot] : 0f;
+    }
+
+    /**
+     * Id of the instance currently stored in a slot, or INVALID_ID if the slot is free
+     */
+    public synchronized long idAt(int slot) {
+        return slot < highWater && live[slot] ? toId(slot, generations[slot]) : INVALID_ID;
+    }
+
+    /**
+     * Copy of the tracked instances as hex id string -> native handle (0 if not created yet)
+     */
+    synchronized Map<String, Long> snapshot() {
+        Map<String, Long> copy = new HashMap<>(size * 2);
+        for (int slot = 0; slot < highWater; slot++) {
+            if (live[slot]) {
+                copy.put(Long.toHexString(toId(slot, generations[slot])), handles[slot]);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Upper bound (exclusive) of slot indices that may be in use - scan [0, highWater())
+     */
+    public int highWater() {
+        return highWater;
+    }
+
+    /**
+     * Number of tracked instances
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Drop all tracked instances without touching FMOD
+     */
+    synchronized void clear() {
+        for (int slot = 0; slot < highWater; slot++) {
+            if (live[slot]) {
+                freeSlot(slot);
+            }
+        }
+    }
+
+    private long freeSlot(int slot) {
+        long instance = handles[slot];
+        handles[slot] = 0;
+        events[slot] = null;
+        live[slot] = false;
+
+        int generation = generations[slot] + 1;
+        generations[slot] = generation > 0 ? generation : 1;
+
+        spatial.remove(slot);
+        scopeCounts[scopes[slot]]--;
+
+        freeSlots[freeCount++] = slot;
+        size--;
+        return instance;
+    }
+
+    private void setScopeAt(int slot, FMODScope scope, long owner) {
+        scopes[slot] = (byte) scope.ordinal();
+        owners[slot] = owner;
+        scopeCounts[scope.ordinal()]++;
+    }
+
+    private double distanceSquared(int slot, double x, double y, double z) {
+        double dx = posX[slot] - x;
+        double dy = posY[slot] - y;
+        double dz = posZ[slot] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    // Insert into the sorted top list if closer than its current worst entry
+    private int offerNearest(int slot, double distance, long[] idsOut, int found, int limit) {
+        if (found == limit && distance >= nearestDistances[found - 1]) {
+            return found;
+        }
+        int index = found < limit ? found++ : found - 1;
+        while (index > 0 && nearestDistances[index - 1] > distance) {
+            nearestDistances[index] = nearestDistances[index - 1];
+            idsOut[index] = idsOut[index - 1];
+            index--;
+        }
+        nearestDistances[index] = distance;
+        idsOut[index] = toId(slot, generations[slot]);
+        return found;
+    }
+
+    private boolean isCurrent(int slot, long id) {
+        return id != INVALID_ID && slot >= 0 && slot < highWater && live[slot]
+            && generations[slot] == (int) (id >>> 32);
+    }
+
+    private void grow() {
+        int capacity = handles.length * 2;
+        int oldCapacity = handles.length;
+
+        handles = Arrays.copyOf(handles, capacity);
+        events = Arrays.copyOf(events, capacity);
+        live = Arrays.copyOf(live, capacity);
+        startTimes = Arrays.copyOf(startTimes, capacity);
+        posX = Arrays.copyOf(posX, capacity);
+        posY = Arrays.copyOf(posY, capacity);
+        posZ = Arrays.copyOf(posZ, capacity);
+        volumes = Arrays.copyOf(volumes, capacity);
+        spatial.growSlots(capacity);
+        scopes = Arrays.copyOf(scopes, capacity);
+        owners = Arrays.copyOf(owners, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+        generations = Arrays.copyOf(generations, capacity);
+        Arrays.fill(generations, oldCapacity, capacity, 1);
+    }
+
+    private static long toId(int slot, int generation) {
+        return ((long) generation << 32) | (slot & 0xFFFFFFFFL);
+    }
+
+    private static int slotOf(long id) {
+        return (int) id;
+    }
+}
@@ -0,0 +1,232 @@
+package com.fmodapi;
+
+import net.neoforged.fml.loader.FMLPaths;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Locates system-installed FMOD libraries.
+ *
+ * The location that worked last is remembered in {@code <game dir>/fmodapi/native-libraries.properties},
+ * together with the size and modification time of both libraries. While those are unchanged, later
+ * launches load the libraries straight from there. Otherwise candidate roots are scanned in parallel
+ * with Files.walkFileTree; each walk stops as soon as it finds both libraries, or a root with higher
+ * priority has.
+ */
+class FMODLibraryResolver {
+
+    private static final String OS = System.getProperty("os.name").toLowerCase();
+
+    /**
+     * Platform file name of a native library, e.g. "fmod" -> "fmod.dll" / "libfmod.so" / "libfmod.dylib"
+     */
+    static String libraryFileName(String libraryName) {
+        if (OS.contains("win")) {
+            return libraryName + ".dll";
+        } else if (OS.contains("mac")) {
+            return "lib" + libraryName + ".dylib";
+        }
+        return "lib" + libraryName + ".so";
+    }
+
+    /**
+     * Libraries found last time, if they are still there and unchanged
+     * @return fmod and fmodstudio paths, or null if the libraries have to be located again
+     */
+    static Path[] cached() {
+        Path cacheFile = cacheFile();
+        if (cacheFile == null || !Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(cacheFile)) {
+            properties.load(in);
+        } catch (IOException e) {
+            return null;
+        }
+
+        // A different custom path means the user wants other libraries
+        if (!currentCustomPath().equals(properties.getProperty("customPath", ""))) {
+            return null;
+        }
+
+        try {
+            Path fmod = Path.of(properties.getProperty("fmod", ""));
+            Path fmodStudio = Path.of(properties.getProperty("fmodstudio", ""));
+            if (unchanged(fmod, properties, "fmod") && unchanged(fmodStudio, properties, "fmodstudio")) {
+                return new Path[]{fmod, fmodStudio};
+            }
+        } catch (InvalidPathException e) {
+            // Written by another OS - locate again
+        }
+        FMODLog.info("Cached FMOD library location is outdated - locating libraries again");
+        return null;
+    }
+
+    /**
+     * Remember libraries that have just loaded successfully
+     */
+    static void remember(Path fmod, Path fmodStudio) {
+        Path cacheFile = cacheFile();
+        if (cacheFile == null) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        try {
+            properties.setProperty("customPath", currentCustomPath());
+            describe(properties, "fmod", fmod);
+            describe(properties, "fmodstudio", fmodStudio);
+
+            Files.createDirectories(cacheFile.getParent());
+            try (OutputStream out = Files.newOutputStream(cacheFile)) {
+                properties.store(out, "FMOD library location - delete to locate the libraries again");
+            }
+        } catch (IOException e) {
+            FMODLog.warn("Failed to remember FMOD library location: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drop the remembered location, e.g. because loading from it failed
+     */
+    static void forget() {
+        Path cacheFile = cacheFile();
+        try {
+            if (cacheFile != null) {
+                Files.deleteIfExists(cacheFile);
+            }
+        } catch (IOException e) {
+            // Ignored - an outdated entry is detected on the next launch anyway
+        }
+    }
+
+    /**
+     * Scan candidate roots for a directory containing both libraries, all roots in parallel.
+     * @param roots Candidate roots in priority order
+     * @param maxDepth How many directory levels below each root are searched
+     * @return fmod and fmodstudio paths from the highest-priority root that has them, or null
+     */
+    static Path[] scan(List<Path> roots, int maxDepth) {
+        String fmodName = libraryFileName("fmod");
+        String fmodStudioName = libraryFileName("fmodstudio");
+
+        // Lowest index of a root that has found the libraries - walks of lower-priority roots stop
+        AtomicInteger bestIndex = new AtomicInteger(Integer.MAX_VALUE);
+        List<CompletableFuture<Path>> walks = new ArrayList<>();
+
+        // Blocking file system work - one virtual thread per root
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < roots.size(); i++) {
+                int index = i;
+                Path root = roots.get(i);
+                walks.add(CompletableFuture.supplyAsync(
+                    () -> walk(root, index, maxDepth, fmodName, fmodStudioName, bestIndex), executor));
+            }
+        }
+
+        for (CompletableFuture<Path> walk : walks) {
+            Path directory = walk.join();
+            if (directory != null) {
+                FMODLog.info("Found FMOD libraries in: " + directory);
+                return new Path[]{directory.resolve(fmodName), directory.resolve(fmodStudioName)};
+            }
+        }
+        return null;
+    }
+
+    private static Path walk(Path root, int index, int maxDepth, String fmodName, String fmodStudioName,
+                             AtomicInteger bestIndex) {
+        if (!Files.isDirectory(root)) {
+            return null;
+        }
+
+        Path[] found = new Path[1];
+        try {
+            // Directories at maxDepth are still visited, matching the levels searched below the root
+            Files.walkFileTree(root, EnumSet.noneOf(FileVisitOption.class), maxDepth + 1,
+                new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                        if (bestIndex.get() < index) {
+                            return FileVisitResult.TERMINATE;
+                        }
+                        if (Files.isRegularFile(dir.resolve(fmodName)) && Files.isRegularFile(dir.resolve(fmodStudioName))) {
+                            found[0] = dir;
+                            bestIndex.accumulateAndGet(index, Math::min);
+                            return FileVisitResult.TERMINATE;
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        // Unreadable directory - skip it
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+        } catch (IOException e) {
+            FMODLog.debug("Failed to scan " + root + " for FMOD libraries: " + e.getMessage());
+        }
+        return found[0];
+    }
+
+    private static boolean unchanged(Path library, Properties properties, String key) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(library, BasicFileAttributes.class);
+            return attributes.isRegularFile()
+                && String.valueOf(attributes.size()).equals(properties.getProperty(key + ".size"))
+                && String.valueOf(attributes.lastModifiedTime().toMillis()).equals(properties.getProperty(key + ".modified"));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void describe(Properties properties, String key, Path library) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(library, BasicFileAttributes.class);
+        properties.setProperty(key, library.toAbsolutePath().toString());
+        properties.setProperty(key + ".size", String.valueOf(attributes.size()));
+        properties.setProperty(key + ".modified", String.valueOf(attributes.lastModifiedTime().toMillis()));
+    }
+
+    private static String currentCustomPath() {
+        try {
+            return FMODConfig.FMOD_CUSTOM_PATH.get().trim();
+        } catch (Exception e) {
+            // Config not loaded yet
+            return "";
+        }
+    }
+
+    private static Path cacheFile() {
+        try {
+            return FMLPaths.GAMEDIR.get().resolve("fmodapi").resolve("native-libraries.properties");
+        } catch (Exception e) {
+            // Outside a NeoForge launch - no place to keep it
+            return null;
+        }
+    }
+}
@@ -28,6 +28,9 @@ public class FMODListenerTracker {
     private static final double POSITION_THRESHOLD = 0.01; // 1cm movement
     private static final float ROTATION_THRESHOLD = 0.1f;   // 0.1 degree rotation
 
+    // Listener moves nearly every tick - log one update per second
+    private static final FMODLog.Sampler LISTENER_LOG_SAMPLER = new FMODLog.Sampler(20);
+
     /**
      * Updates FMOD listener position only when player moves or rotates.
      * Called once per tick for the client player.
@@ -101,13 +104,13 @@ public class FMODListenerTracker {
             );
 
             // Optional debug logging when enabled
-            if (FMODConfig.DEBUG_LOGGING.get() && positionChanged) {
-                System.out.printf("[FMOD API] Auto-listener update - Pos:(%.1f, %.1f, %.1f) Vel:(%.2f, %.2f, %.2f)%n",
-                    currentX, currentY, currentZ, velX, velY, velZ);
+            if (positionChanged && FMODLog.isDebugEnabled() && LISTENER_LOG_SAMPLER.next()) {
+                FMODLog.debug(String.format("Auto-listener update - Pos:(%.1f, %.1f, %.1f) Vel:(%.2f, %.2f, %.2f)",
+                    currentX, currentY, currentZ, velX, velY, velZ));
             }
 
         } catch (Exception e) {
-            System.err.println("[FMOD API] Failed to auto-update listener: " + e.getMessage());
+            FMODLog.error("Failed to auto-update listener: " + e.getMessage());
         }
 
         // Store current values for next comparison
@@ -118,6 +121,13 @@ public class FMODListenerTracker {
         lastPitch = currentPitch;
     }
 
+    /**
+     * Last listener position pushed to FMOD (NaN until the first update)
+     */
+    static double getListenerX() { return lastX; }
+    static double getListenerY() { return lastY; }
+    static double getListenerZ() { return lastZ; }
+
     /**
      * Reset tracking when player disconnects/reconnects
      */
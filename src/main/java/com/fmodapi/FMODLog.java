@@ -0,0 +1,156 @@
+package com.fmodapi;
+
+import java.io.PrintStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Logging for FMOD API.
+ *
+ * The level is cached in a static field and refreshed only when the config (re)loads, so a disabled
+ * level costs a single field read. Messages are handed to a background writer thread, so console I/O
+ * never runs on the game or audio thread. Hot paths should guard message building with
+ * {@link #isDebugEnabled()} and can thin out repeated messages with a {@link Sampler}.
+ */
+public class FMODLog {
+
+    public static final int ERROR = 0;
+    public static final int WARN = 1;
+    public static final int INFO = 2;
+    public static final int DEBUG = 3;
+
+    private static final String PREFIX = "[FMOD API] ";
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private static final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private static volatile int level = INFO;
+    private static volatile boolean writerStarted = false;
+    private static volatile int droppedCount = 0;
+
+    private record Entry(boolean error, String message) {}
+
+    /**
+     * Set the cached level. Called whenever the config snapshot is rebuilt.
+     */
+    static void configure(boolean debugLogging) {
+        level = debugLogging ? DEBUG : INFO;
+    }
+
+    public static boolean isEnabled(int messageLevel) {
+        return messageLevel <= level;
+    }
+
+    public static boolean isDebugEnabled() {
+        return level >= DEBUG;
+    }
+
+    public static void error(String message) {
+        write(true, message);
+    }
+
+    public static void warn(String message) {
+        if (level >= WARN) {
+            write(true, message);
+        }
+    }
+
+    public static void info(String message) {
+        if (level >= INFO) {
+            write(false, message);
+        }
+    }
+
+    public static void debug(String message) {
+        if (level >= DEBUG) {
+            write(false, message);
+        }
+    }
+
+    /**
+     * Number of debug/info messages dropped because the writer could not keep up
+     */
+    public static int getDroppedCount() {
+        return droppedCount;
+    }
+
+    private static void write(boolean error, String message) {
+        startWriter();
+        if (!queue.offer(new Entry(error, message))) {
+            if (error) {
+                // Never lose errors - write them directly instead
+                System.err.println(PREFIX + message);
+            } else {
+                droppedCount++;
+            }
+        }
+    }
+
+    private static void startWriter() {
+        if (writerStarted) {
+            return;
+        }
+        synchronized (FMODLog.class) {
+            if (writerStarted) {
+                return;
+            }
+            Thread writer = new Thread(FMODLog::runWriter, "FMOD Log");
+            writer.setDaemon(true);
+            writer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(FMODLog::flush, "FMOD Log Flush"));
+            writerStarted = true;
+        }
+    }
+
+    private static void runWriter() {
+        while (true) {
+            try {
+                print(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Write out everything still queued on the calling thread
+     */
+    static void flush() {
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            print(entry);
+        }
+    }
+
+    private static void print(Entry entry) {
+        PrintStream out = entry.error ? System.err : System.out;
+        out.println(PREFIX + entry.message);
+    }
+
+    /**
+     * Lets through one in every {@code period} calls - for messages that would otherwise repeat
+     * for every sound. Not synchronized: under contention the period is only approximate.
+     */
+    public static class Sampler {
+        private final int period;
+        private int counter = 0;
+
+        public Sampler(int period) {
+            this.period = Math.max(1, period);
+        }
+
+        /**
+         * @return true if this call should be logged
+         */
+        public boolean next() {
+            if (counter-- > 0) {
+                return false;
+            }
+            counter = period - 1;
+            return true;
+        }
+
+        public int getPeriod() {
+            return period;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.fmodapi;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer queue of primitive longs.
+ * Used to hand instance ids from FMOD callback threads to the thread that owns the registry
+ * without allocating. Offers fail (instead of blocking) when the queue is full.
+ */
+public class FMODLongQueue {
+    private final int mask;
+    private final long[] values;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head = 0; // consumer-owned
+    private long polled;
+
+    /**
+     * @param capacity Queue capacity, rounded up to a power of two
+     */
+    public FMODLongQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.values = new long[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add a value. Safe to call from any thread.
+     * @return false if the queue is full
+     */
+    public boolean offer(long value) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    values[index] = value;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+            // Another producer claimed this position - retry
+        }
+    }
+
+    /**
+     * Remove the oldest value. Must only be called from the consumer thread.
+     * @return true if a value was available; read it with {@link #lastPolled()}
+     */
+    public boolean poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return false;
+        }
+
+        polled = values[index];
+        sequences.lazySet(index, head + mask + 1);
+        head++;
+        return true;
+    }
+
+    /**
+     * Value returned by the last successful {@link #poll()}
+     */
+    public long lastPolled() {
+        return polled;
+    }
+}
@@ -2,24 +2,25 @@ package com.fmodapi;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.Options;
-import net.minecraft.client.sounds.SoundManager;
+import net.minecraft.sounds.SoundSource;
 import net.neoforged.api.distmarker.Dist;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.client.event.ClientTickEvent;
-import net.neoforged.neoforge.event.tick.LevelTickEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
 
 /**
  * Integrates FMOD with Minecraft's native audio system.
- * Handles volume synchronization and pause/resume based on game state.
+ * Handles volume synchronization (per sound category, see FMODVolumeMapping) and pause/resume based on game state.
  */
 @EventBusSubscriber(modid = "fmodapi", value = Dist.CLIENT)
 public class FMODMinecraftIntegration {
 
+    private static final SoundSource[] SOURCES = SoundSource.values();
+
     private static boolean wasPaused = false;
-    private static float lastMasterVolume = 1.0f;
-    private static float lastMusicVolume = 1.0f;
-    private static float lastSoundVolume = 1.0f;
+    // Slider volumes per SoundSource ordinal, refilled every tick - FMODVolumeMapping applies the changes
+    private static final float[] volumes = new float[SOURCES.length];
 
     /**
      * Monitor Minecraft's game state and volume settings every tick
@@ -39,51 +40,27 @@ public class FMODMinecraftIntegration {
         boolean hasScreenOpen = minecraft.screen != null;
         if (hasScreenOpen != wasPaused) {
             if (hasScreenOpen) {
-                System.out.println("[FMOD Integration] Screen detected - pausing FMOD sounds");
+                FMODLog.debug("Screen detected - pausing FMOD sounds");
                 FMODAPI.pauseAllSounds();
             } else {
-                System.out.println("[FMOD Integration] No screen - resuming FMOD sounds");
+                FMODLog.debug("No screen - resuming FMOD sounds");
                 FMODAPI.resumeAllSounds();
             }
             wasPaused = hasScreenOpen;
         }
 
-        // Handle volume changes using the correct NeoForge 1.21.1 API
-        Options options = minecraft.options;
-        if (options != null) {
-            // Get the volume values from game options (0.0 to 1.0)
-            float masterVolume = options.getSoundSourceVolume(net.minecraft.sounds.SoundSource.MASTER);
-            float musicVolume = options.getSoundSourceVolume(net.minecraft.sounds.SoundSource.MUSIC);
-            float soundVolume = options.getSoundSourceVolume(net.minecraft.sounds.SoundSource.BLOCKS);
-
-            // Check if any volume has changed
-            if (masterVolume != lastMasterVolume || musicVolume != lastMusicVolume || soundVolume != lastSoundVolume) {
-                // Calculate combined volume (master * average of music/sound)
-                float combinedVolume = masterVolume * ((musicVolume + soundVolume) / 2.0f);
-
-                System.out.println("[FMOD Integration] Volume changed - Master: " + masterVolume +
-                                 ", Music: " + musicVolume + ", Sound: " + soundVolume +
-                                 " -> Combined: " + combinedVolume);
-
-                FMODAPI.setMasterVolume(combinedVolume);
-
-                lastMasterVolume = masterVolume;
-                lastMusicVolume = musicVolume;
-                lastSoundVolume = soundVolume;
-            }
-        }
+        // Sync volume sliders - only changed ones reach FMOD
+        syncVolumes(minecraft.options);
     }
 
-
     /**
-     * Reset integration state when world changes
+     * Reset integration state when a world is loaded
      */
     @SubscribeEvent
-    public static void onLevelTick(LevelTickEvent.Post event) {
-        // Reset pause state when world changes
+    public static void onLevelLoad(LevelEvent.Load event) {
         if (event.getLevel().isClientSide()) {
             wasPaused = false;
-            // Ensure sounds are not stuck in paused state
+            // Ensure sounds are not stuck in paused state - a no-op unless they are paused
             if (FMODAPI.isAvailable()) {
                 FMODAPI.resumeAllSounds();
             }
@@ -94,25 +71,22 @@ public class FMODMinecraftIntegration {
      * Initialize integration - call this once during mod setup
      */
     public static void initialize() {
-        System.out.println("[FMOD Integration] Minecraft native integration initialized");
+        FMODLog.info("Minecraft native integration initialized");
 
-        // Set initial volume from current Minecraft settings
+        // Set initial volumes from current Minecraft settings
         Minecraft minecraft = Minecraft.getInstance();
-        if (minecraft != null && minecraft.options != null) {
-            Options options = minecraft.options;
-            float masterVolume = options.getSoundSourceVolume(net.minecraft.sounds.SoundSource.MASTER);
-            float musicVolume = options.getSoundSourceVolume(net.minecraft.sounds.SoundSource.MUSIC);
-            float soundVolume = options.getSoundSourceVolume(net.minecraft.sounds.SoundSource.BLOCKS);
-
-            float combinedVolume = masterVolume * ((musicVolume + soundVolume) / 2.0f);
-            FMODAPI.setMasterVolume(combinedVolume);
-
-            lastMasterVolume = masterVolume;
-            lastMusicVolume = musicVolume;
-            lastSoundVolume = soundVolume;
+        if (minecraft != null) {
+            syncVolumes(minecraft.options);
+        }
+    }
 
-            System.out.println("[FMOD Integration] Initial volume set to: " + combinedVolume +
-                             " (Master: " + masterVolume + ", Music: " + musicVolume + ", Sound: " + soundVolume + ")");
+    private static void syncVolumes(Options options) {
+        if (options == null) {
+            return;
+        }
+        for (int i = 0; i < SOURCES.length; i++) {
+            volumes[i] = options.getSoundSourceVolume(SOURCES[i]);
         }
+        FMODVolumeMapping.update(volumes);
     }
-}
\ No newline at end of file
+}
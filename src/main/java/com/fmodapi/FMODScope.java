@@ -0,0 +1,21 @@
+package com.fmodapi;
+
+/**
+ * Lifecycle scope of a playing sound - decides when it is released in bulk together with its owner.
+ *
+ * Positioned sounds start in {@link #CHUNK}, 2D sounds in {@link #WORLD}; change it with
+ * {@link FMODAPI#setScope} or {@link FMODAPI#scopeToEntity}. Released sounds fade out if the
+ * unloadFadeOut config option is enabled.
+ */
+public enum FMODScope {
+    /** Never released automatically - menu and UI sounds, music that spans worlds */
+    GLOBAL,
+    /** Released when the player leaves the world or server */
+    WORLD,
+    /** Released when the client level unloads - also on dimension change */
+    DIMENSION,
+    /** Released when the chunk column the emitter is in unloads */
+    CHUNK,
+    /** Released when its entity leaves the level (death, despawn, unload) */
+    ENTITY
+}
@@ -0,0 +1,226 @@
+package com.fmodapi;
+
+import java.util.Arrays;
+
+/**
+ * Chunk-aligned spatial hash over the slots of {@link FMODInstanceRegistry}.
+ *
+ * Positioned instances are grouped by the chunk column (16x16 blocks) their emitter is in. Each chunk
+ * maps to the first slot of an intrusive doubly linked list threaded through per-slot arrays, so
+ * inserting, moving and removing an emitter doesn't allocate. Chunk keys use the same packing as
+ * Minecraft's ChunkPos.asLong. The chunk table is open-addressed with linear probing.
+ *
+ * Not thread-safe - owned and guarded by the registry.
+ */
+class FMODSpatialIndex {
+
+    static final int NONE = -1;
+
+    // Packs chunk z = Integer.MIN_VALUE, far outside any world
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int INITIAL_TABLE_SIZE = 64;
+
+    // Per slot: chunk the slot is listed under (EMPTY if not indexed) and its neighbours in that chunk
+    private long[] cellOf;
+    private int[] next;
+    private int[] prev;
+
+    // Chunk key -> first slot
+    private long[] keys = new long[INITIAL_TABLE_SIZE];
+    private int[] heads = new int[INITIAL_TABLE_SIZE];
+    private int cellCount = 0;
+    private int size = 0;
+
+    FMODSpatialIndex(int slotCapacity) {
+        cellOf = new long[slotCapacity];
+        next = new int[slotCapacity];
+        prev = new int[slotCapacity];
+        Arrays.fill(cellOf, EMPTY);
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Chunk coordinate of a block coordinate
+     */
+    static int chunkCoord(double blockCoord) {
+        return (int) Math.floor(blockCoord) >> 4;
+    }
+
+    /**
+     * Same packing as ChunkPos.asLong(chunkX, chunkZ)
+     */
+    static long chunkKey(int chunkX, int chunkZ) {
+        return (chunkX & 0xFFFFFFFFL) | ((chunkZ & 0xFFFFFFFFL) << 32);
+    }
+
+    void growSlots(int capacity) {
+        int oldCapacity = cellOf.length;
+        cellOf = Arrays.copyOf(cellOf, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        Arrays.fill(cellOf, oldCapacity, capacity, EMPTY);
+    }
+
+    /**
+     * List a slot under the chunk containing x/z
+     */
+    void insert(int slot, double x, double z) {
+        long key = chunkKey(chunkCoord(x), chunkCoord(z));
+        int index = findOrAdd(key);
+        int head = heads[index];
+        next[slot] = head;
+        prev[slot] = NONE;
+        if (head != NONE) {
+            prev[head] = slot;
+        }
+        heads[index] = slot;
+        cellOf[slot] = key;
+        size++;
+    }
+
+    /**
+     * Move a slot to the chunk containing x/z - nothing to do while it stays in the same chunk
+     */
+    void update(int slot, double x, double z) {
+        long key = chunkKey(chunkCoord(x), chunkCoord(z));
+        if (cellOf[slot] == key) {
+            return;
+        }
+        remove(slot);
+        insert(slot, x, z);
+    }
+
+    /**
+     * Unlist a slot. Does nothing if it isn't indexed.
+     */
+    void remove(int slot) {
+        long key = cellOf[slot];
+        if (key == EMPTY) {
+            return;
+        }
+
+        int before = prev[slot];
+        int after = next[slot];
+        if (after != NONE) {
+            prev[after] = before;
+        }
+        if (before != NONE) {
+            next[before] = after;
+        } else {
+            int index = find(key);
+            if (after != NONE) {
+                heads[index] = after;
+            } else {
+                removeAt(index);
+            }
+        }
+        cellOf[slot] = EMPTY;
+        size--;
+    }
+
+    /**
+     * First slot listed under a chunk, or NONE
+     */
+    int first(long chunkKey) {
+        int index = find(chunkKey);
+        return index >= 0 ? heads[index] : NONE;
+    }
+
+    /**
+     * Next slot in the same chunk, or NONE
+     */
+    int next(int slot) {
+        return next[slot];
+    }
+
+    boolean isIndexed(int slot) {
+        return cellOf[slot] != EMPTY;
+    }
+
+    /**
+     * Number of indexed slots
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Number of chunks with at least one indexed slot
+     */
+    int cellCount() {
+        return cellCount;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+            long current = keys[index];
+            if (current == key) {
+                return index;
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private int findOrAdd(long key) {
+        if ((cellCount + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        heads[index] = NONE;
+        cellCount++;
+        return index;
+    }
+
+    // Backward-shift deletion - keeps probe sequences intact without tombstones
+    private void removeAt(int index) {
+        int mask = keys.length - 1;
+        int hole = index;
+        for (int current = (hole + 1) & mask; keys[current] != EMPTY; current = (current + 1) & mask) {
+            int home = hash(keys[current]) & mask;
+            // Move the entry into the hole unless its home lies cyclically in (hole, current]
+            if (((current - home) & mask) >= ((current - hole) & mask)) {
+                keys[hole] = keys[current];
+                heads[hole] = heads[current];
+                hole = current;
+            }
+        }
+        keys[hole] = EMPTY;
+        cellCount--;
+    }
+
+    private void rehash(int tableSize) {
+        long[] oldKeys = keys;
+        int[] oldHeads = heads;
+        keys = new long[tableSize];
+        heads = new int[tableSize];
+        Arrays.fill(keys, EMPTY);
+
+        int mask = tableSize - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = hash(oldKeys[i]) & mask;
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                heads[index] = oldHeads[i];
+            }
+        }
+    }
+
+    static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,154 @@
+package com.fmodapi;
+
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.fml.loading.FMLEnvironment;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Off-thread FMOD initialization.
+ *
+ * With asyncInit enabled, native loading, system creation, output setup and the start of bank loading
+ * run on a background thread while mod loading continues. Sounds played before FMOD is ready get their
+ * instance id reserved right away and are buffered in a bounded queue, then replayed on the game thread
+ * under that id once it is; banks registered meanwhile are loaded at the same point.
+ * {@link #whenReady()} completes on the game thread after the replay.
+ */
+public class FMODStartup {
+
+    // Sounds played during startup are rare (menus, early mod init) - beyond this they are not queued
+    private static final int MAX_QUEUED_CALLS = 256;
+
+    private static final Queue<Runnable> queuedCalls = new ArrayDeque<>();
+    private static int droppedCalls = 0;
+
+    private static Thread initThread;
+    // Background initialization started and its queued calls not replayed yet
+    private static volatile boolean pending = false;
+    // Set by the finished initialization, consumed by the next tick
+    private static volatile boolean finished = false;
+
+    private static final CompletableFuture<Boolean> ready = new CompletableFuture<>();
+
+    /**
+     * Whether FMOD should be initialized in the background. Only on the client - the server never
+     * ticks the game-thread half of the startup.
+     */
+    static boolean isAsyncEnabled() {
+        return FMLEnvironment.dist == Dist.CLIENT && FMODConfig.snapshot().asyncInit;
+    }
+
+    /**
+     * Run an initialization task on the "FMOD Init" thread. Does nothing if one has already been started.
+     */
+    static synchronized void begin(Runnable initTask) {
+        if (initThread != null || FMODSystem.isInitialized()) {
+            return;
+        }
+
+        pending = true;
+        initThread = new Thread(() -> {
+            try {
+                initTask.run();
+            } catch (Throwable e) {
+                FMODLog.error("FMOD background initialization failed: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+                FMODSystem.markInitializationFailed();
+            } finally {
+                finished = true;
+            }
+        }, "FMOD Init");
+        initThread.setDaemon(true);
+        initThread.start();
+        FMODLog.info("FMOD initialization started in the background");
+    }
+
+    /**
+     * Whether the caller runs on the background initialization thread
+     */
+    static synchronized boolean isInitThread() {
+        return Thread.currentThread() == initThread;
+    }
+
+    /**
+     * Called when an initialization attempt has finished, on whichever thread ran it
+     */
+    static void initFinished() {
+        if (!pending) {
+            // Blocking initialization - nothing was queued
+            ready.complete(FMODSystem.isInitialized());
+        }
+    }
+
+    /**
+     * Whether calls should be queued because background initialization is still running. One volatile read.
+     */
+    static boolean isPending() {
+        return pending;
+    }
+
+    /**
+     * Queue a call to be replayed once FMOD is ready
+     * @return true if queued, false if startup is already over or the queue is full - the caller should run it
+     *         right away (a sound then falls back to OpenAL if FMOD isn't available yet)
+     */
+    static synchronized boolean defer(Runnable call) {
+        if (!pending) {
+            return false;
+        }
+        if (queuedCalls.size() >= MAX_QUEUED_CALLS) {
+            if (droppedCalls++ == 0) {
+                FMODLog.warn("Too many FMOD calls before initialization finished - not queueing the rest (limit: " + MAX_QUEUED_CALLS + ")");
+            }
+            return false;
+        }
+        queuedCalls.add(call);
+        return true;
+    }
+
+    /**
+     * Finish a background initialization on the game thread: load banks registered meanwhile, replay
+     * queued calls and complete {@link #whenReady()}. Called every tick - one volatile read otherwise.
+     */
+    static void update() {
+        if (!finished) {
+            return;
+        }
+        finished = false;
+
+        Runnable[] calls;
+        int dropped;
+        synchronized (FMODStartup.class) {
+            pending = false;
+            calls = queuedCalls.toArray(new Runnable[0]);
+            queuedCalls.clear();
+            dropped = droppedCalls;
+            droppedCalls = 0;
+        }
+
+        boolean available = FMODAPI.isAvailable();
+        if (available) {
+            FMODSystem.loadRegisteredBanks();
+        }
+        for (Runnable call : calls) {
+            try {
+                call.run();
+            } catch (Exception e) {
+                FMODLog.error("Exception replaying FMOD call queued during initialization: " + e.getMessage());
+            }
+        }
+        FMODLog.info("FMOD background initialization finished (available: " + available + ", replayed "
+            + calls.length + " queued calls" + (dropped > 0 ? ", " + dropped + " not queued" : "") + ")");
+
+        ready.complete(available);
+    }
+
+    /**
+     * Future completing once the first FMOD initialization attempt has finished
+     * @return true if FMOD is available, false if it failed or is disabled
+     */
+    static CompletableFuture<Boolean> whenReady() {
+        return ready;
+    }
+}
@@ -8,24 +8,27 @@ import org.lwjgl.system.MemoryStack;
 import org.lwjgl.system.MemoryUtil;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.FileOutputStream;
+import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Collections;
 import java.util.Map;
-import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Core FMOD system management.
  * Handles initialization, shutdown, and provides centralized FMOD functionality.
  */
 public class FMODSystem {
-    private static long fmodSystem = 0;
-    private static boolean isInitialized = false;
-    private static boolean initializationFailed = false;
+    // Volatile - FMOD may be initialized on the FMOD Init thread (see FMODStartup)
+    private static volatile long fmodSystem = 0;
+    private static volatile boolean isInitialized = false;
+    private static volatile boolean initializationFailed = false;
 
     // Status tracking
     private static String currentStatus = "Not initialized";
@@ -33,11 +36,8 @@ public class FMODSystem {
     private static int currentErrorCode = -1;
 
     // Instance management
-    private static final Map<String, Long> activeInstances = new ConcurrentHashMap<>();
-    private static final int MAX_INSTANCES = 128;
-
-    // Track loaded banks for automatic reloading
-    private static final Map<String, byte[]> loadedBanks = new ConcurrentHashMap<>();
+    private static final FMODInstanceRegistry activeInstances = new FMODInstanceRegistry();
+    private static long tickCount = 0;
 
     // Bank registration system - stores banks to be loaded when FMOD initializes
     private static final List<BankRegistration> registeredBanks = new CopyOnWriteArrayList<>();
@@ -51,10 +51,25 @@ public class FMODSystem {
     private static class BankRegistration {
         final Class<?> modClass;
         final String resourcePath;
+        final FMODBankLoader.SampleData sampleData;
+        volatile boolean acquired; // holds a reference in FMODBankManager
 
-        BankRegistration(Class<?> modClass, String resourcePath) {
+        BankRegistration(Class<?> modClass, String resourcePath, FMODBankLoader.SampleData sampleData) {
             this.modClass = modClass;
             this.resourcePath = resourcePath;
+            this.sampleData = sampleData;
+        }
+
+        /**
+         * Mark the registration as holding its bank, unless it already does
+         * @return true if the caller should load the bank
+         */
+        synchronized boolean claim() {
+            if (acquired) {
+                return false;
+            }
+            acquired = true;
+            return true;
         }
     }
 
@@ -95,9 +110,17 @@ public class FMODSystem {
     }
 
     /**
-     * Initialize FMOD system
+     * Initialize FMOD system. Blocks until done - FMODStartup runs it on a background thread instead.
      */
-    public static void init() {
+    public static synchronized void init() {
+        try {
+            initSystem();
+        } finally {
+            FMODStartup.initFinished();
+        }
+    }
+
+    private static void initSystem() {
         if (isInitialized) {
             return;
         }
@@ -219,7 +242,11 @@ public class FMODSystem {
                 log(YELLOW + "Failed to get FMOD core system for 3D configuration: " + result + RESET);
             }
 
+            // Before any instance can be started - on this thread or the audio thread
+            FMODInstanceReaper.init();
+
             isInitialized = true;
+            FMODConfig.refreshSnapshot();
             currentStatus = "Successfully initialized";
             currentAudioSystem = "FMOD";
             currentErrorCode = 0;
@@ -229,6 +256,9 @@ public class FMODSystem {
             // Load all registered banks
             loadRegisteredBanks();
 
+            // Hand per-sound work over to the audio thread if enabled
+            FMODAudioThread.applyConfig();
+
         } catch (Exception e) {
             logError(RED + "FMOD system initialization failed with exception: " + e.getMessage() + RESET);
             currentStatus = "Exception: " + e.getMessage();
@@ -264,11 +294,11 @@ public class FMODSystem {
 
 
     /**
-     * Load native FMOD libraries from resources
+     * Load native FMOD libraries from resources (fmod.dll, libfmod.so or libfmod.dylib, depending on the OS)
      */
     private static void loadNativeLibraries() throws Exception {
-        loadLibraryFromResource("/libraries/fmod.dll", "fmod");
-        loadLibraryFromResource("/libraries/fmodstudio.dll", "fmodstudio");
+        loadLibraryFromResource("fmod");
+        loadLibraryFromResource("fmodstudio");
     }
 
     /**
@@ -276,10 +306,16 @@ public class FMODSystem {
      */
     private static void loadSystemLibraries() throws Exception {
         // Try loading in priority order:
+        // 0. Location that worked last launch, if the libraries there are unchanged
         // 1. Custom path from config (highest priority)
         // 2. System PATH
         // 3. Common installation paths
 
+        // 0. Skip all searching when the remembered location is still valid
+        if (tryLoadFromCachedLocation()) {
+            return;
+        }
+
         // 1. Try custom path first
         if (tryLoadFromCustomPath()) {
             return;
@@ -298,6 +334,26 @@ public class FMODSystem {
         throw new Exception("Failed to load FMOD libraries from custom path, system PATH, and common installation locations");
     }
 
+    /**
+     * Try loading from the location remembered by FMODLibraryResolver
+     */
+    private static boolean tryLoadFromCachedLocation() {
+        Path[] cached = FMODLibraryResolver.cached();
+        if (cached == null) {
+            return false;
+        }
+
+        try {
+            loadLibrariesFromFoundPaths(cached[0].toString(), cached[1].toString());
+            log(GREEN + "Loaded FMOD libraries from cached location: " + cached[0].getParent() + RESET);
+            return true;
+        } catch (Exception e) {
+            log(YELLOW + "Cached FMOD library location failed: " + e.getMessage() + RESET);
+            FMODLibraryResolver.forget();
+            return false;
+        }
+    }
+
     /**
      * Try loading from user-configured custom path
      */
@@ -394,18 +450,34 @@ public class FMODSystem {
             "." + localSeparator + "libraries" + localSeparator
         ));
 
-        String[] commonPaths = pathList.toArray(new String[0]);
+        // Direct hits first - cheap checks of known layouts
+        for (String path : pathList) {
+            if (tryLoadDirectPath(path)) {
+                log(GREEN + "Successfully loaded FMOD libraries from: " + path + RESET);
+                return true;
+            }
+        }
 
-        for (String path : commonPaths) {
+        // Then scan all candidate roots in parallel
+        List<Path> roots = new java.util.ArrayList<>();
+        for (String path : pathList) {
             try {
-                loadLibrariesFromPath(path);
-                log(GREEN + "Successfully loaded FMOD libraries from: " + path + RESET);
+                roots.add(Path.of(path));
+            } catch (java.nio.file.InvalidPathException e) {
+                // Not a valid path on this system
+            }
+        }
+        Path[] found = FMODLibraryResolver.scan(roots, 4);
+        if (found != null) {
+            try {
+                loadLibrariesFromFoundPaths(found[0].toString(), found[1].toString());
                 return true;
             } catch (Exception e) {
-                log(YELLOW + "Failed to load from " + path + ": " + e.getMessage() + RESET);
+                log(YELLOW + "Failed to load from " + found[0].getParent() + ": " + e.getMessage() + RESET);
             }
         }
 
+        log(YELLOW + "FMOD libraries not found in any common installation path" + RESET);
         return false;
     }
 
@@ -418,10 +490,10 @@ public class FMODSystem {
             return;
         }
 
-        // If direct path fails, scan subfolders recursively
-        String[] foundPaths = scanForFMODLibraries(basePath, 4); // Max 4 levels deep
+        // If direct path fails, scan subfolders
+        Path[] foundPaths = FMODLibraryResolver.scan(List.of(Path.of(basePath)), 4); // Max 4 levels deep
         if (foundPaths != null) {
-            loadLibrariesFromFoundPaths(foundPaths[0], foundPaths[1]);
+            loadLibrariesFromFoundPaths(foundPaths[0].toString(), foundPaths[1].toString());
             return;
         }
 
@@ -481,41 +553,6 @@ public class FMODSystem {
         return false;
     }
 
-    /**
-     * Recursively scan for FMOD DLLs in subfolders
-     */
-    private static String[] scanForFMODLibraries(String basePath, int maxDepth) {
-        return scanForFMODLibrariesRecursive(new java.io.File(basePath), maxDepth, 0);
-    }
-
-    private static String[] scanForFMODLibrariesRecursive(java.io.File dir, int maxDepth, int currentDepth) {
-        if (currentDepth > maxDepth || !dir.exists() || !dir.isDirectory()) {
-            return null;
-        }
-
-        // Check current directory for both DLLs
-        java.io.File fmodFile = new java.io.File(dir, "fmod.dll");
-        java.io.File fmodStudioFile = new java.io.File(dir, "fmodstudio.dll");
-
-        if (fmodFile.exists() && fmodStudioFile.exists()) {
-            log(GREEN + "Found FMOD DLLs in: " + dir.getAbsolutePath() + RESET);
-            return new String[]{fmodFile.getAbsolutePath(), fmodStudioFile.getAbsolutePath()};
-        }
-
-        // Recursively check subdirectories
-        java.io.File[] subdirs = dir.listFiles(java.io.File::isDirectory);
-        if (subdirs != null) {
-            for (java.io.File subdir : subdirs) {
-                String[] result = scanForFMODLibrariesRecursive(subdir, maxDepth, currentDepth + 1);
-                if (result != null) {
-                    return result;
-                }
-            }
-        }
-
-        return null;
-    }
-
     /**
      * Load FMOD libraries from found absolute paths
      */
@@ -533,35 +570,41 @@ public class FMODSystem {
         } catch (UnsatisfiedLinkError e) {
             throw new Exception("Failed to load fmodstudio.dll from " + fmodStudioPath + ": " + e.getMessage());
         }
+
+        // Next launch loads straight from here
+        FMODLibraryResolver.remember(Path.of(fmodPath), Path.of(fmodStudioPath));
     }
 
-    private static void loadLibraryFromResource(String resourcePath, String libraryName) throws Exception {
-        try (InputStream in = FMODSystem.class.getResourceAsStream(resourcePath)) {
-            if (in == null) {
-                throw new RuntimeException("Could not find native library resource: " + resourcePath);
-            }
+    /**
+     * Extract a bundled library into the disk cache - once per library version - and load it from there
+     */
+    private static void loadLibraryFromResource(String libraryName) throws Exception {
+        String fileName = FMODLibraryResolver.libraryFileName(libraryName);
+        String resourcePath = "/libraries/" + fileName;
+        URL resource = FMODSystem.class.getResource(resourcePath);
+        if (resource == null) {
+            throw new RuntimeException("Could not find native library resource: " + resourcePath);
+        }
 
-            // Create temporary directory
+        Path libraryFile;
+        try {
+            // Keyed by CRC32 + size, so an updated library gets its own entry next to the old one
+            libraryFile = FMODDiskCache.get("natives", fileName, FMODDiskCache.keyOf("natives", fileName, resource), resource::openStream);
+        } catch (IOException e) {
+            // Game directory not writable - extract to a temp directory for this launch only
+            log(YELLOW + "Disk cache unavailable for " + fileName + " (" + e.getMessage() + "), extracting to temp directory" + RESET);
             Path tempDir = Files.createTempDirectory("fmodapi-libs");
             tempDir.toFile().deleteOnExit();
-
-            // Create temporary file for the library
-            Path libraryFile = tempDir.resolve(libraryName + ".dll");
-            libraryFile.toFile().deleteOnExit();
-
-            // Extract library to temporary file
-            try (FileOutputStream out = new FileOutputStream(libraryFile.toFile())) {
-                byte[] buffer = new byte[8192];
-                int bytesRead;
-                while ((bytesRead = in.read(buffer)) != -1) {
-                    out.write(buffer, 0, bytesRead);
-                }
+            libraryFile = tempDir.resolve(fileName);
+            try (InputStream in = resource.openStream()) {
+                Files.copy(in, libraryFile);
             }
-
-            // Load the library using absolute path
-            System.load(libraryFile.toAbsolutePath().toString());
-            log("Loaded native library: " + libraryName);
+            libraryFile.toFile().deleteOnExit();
         }
+
+        // Load the library using absolute path
+        System.load(libraryFile.toAbsolutePath().toString());
+        log("Loaded native library: " + libraryName + " from " + libraryFile);
     }
 
 
@@ -569,13 +612,32 @@ public class FMODSystem {
      * Update FMOD system - should be called every tick
      */
     public static void update() {
+        // Finish a background initialization - before the check below, which it may change
+        FMODStartup.update();
+
         if (!isInitialized || fmodSystem == 0) {
             return;
         }
 
+        tickCount++;
+
+        // Complete background bank loads - cheap when nothing is pending
+        FMODBankLoader.update();
+
+        // Move sounds attached to entities - before the audio thread check, sources are read on this thread
+        FMODEmitterTracker.update();
+
+        // Start virtual voices the listener has come close to
+        FMODAudioLod.update();
+
+        if (FMODAudioThread.isRunning()) {
+            // The audio thread reaps instances and updates FMOD on its own cadence
+            return;
+        }
+
         try {
-            // Clean up finished instances
-            cleanupFinishedInstances();
+            // Release finished instances (callback queue + budgeted polling slice)
+            FMODInstanceReaper.update(activeInstances);
 
             // Update FMOD system
             int result = FMODStudio.FMOD_Studio_System_Update(fmodSystem);
@@ -597,6 +659,11 @@ public class FMODSystem {
 
             // Initialize FMOD once if not already initialized
             if (!isInitialized && !initializationFailed) {
+                if (FMODStartup.isAsyncEnabled() && !FMODStartup.isInitThread()) {
+                    // Initialization and the routing update below continue on the FMOD Init thread
+                    FMODStartup.begin(FMODSystem::checkConfigAndInit);
+                    return;
+                }
                 log(GREEN + "Initializing FMOD system (one-time initialization)..." + RESET);
                 initializationFailed = false;
                 try {
@@ -617,6 +684,7 @@ public class FMODSystem {
                 // Load banks when enabling FMOD routing
                 log(GREEN + "Loading banks after enabling FMOD routing..." + RESET);
                 loadRegisteredBanks();
+                FMODAudioThread.applyConfig();
             } else {
                 if (fmodEnabled && !isInitialized) {
                     log(YELLOW + "FMOD routing requested but FMOD failed to initialize - using OpenAL fallback" + RESET);
@@ -637,15 +705,30 @@ public class FMODSystem {
     /**
      * Shutdown FMOD system
      */
-    public static void shutdown() {
+    public static synchronized void shutdown() {
         if (!isInitialized || fmodSystem == 0) {
             return;
         }
 
         try {
+            // Run remaining queued commands and give FMOD back to this thread
+            FMODAudioThread.stop();
+
+            // Drop bank loads still in flight
+            FMODBankLoader.shutdown();
+
             // Clean up all instances
+            FMODEmitterTracker.clear();
+            FMODAudioLod.clear();
             cleanupAllInstances();
 
+            // Banks are unloaded together with the system - drop every cached event description
+            FMODEventCache.invalidateAll();
+            FMODBankManager.clear();
+            for (BankRegistration registration : registeredBanks) {
+                registration.acquired = false;
+            }
+
             // Release FMOD system
             int result = FMODStudio.FMOD_Studio_System_Release(fmodSystem);
             if (result != FMOD.FMOD_OK) {
@@ -653,11 +736,17 @@ public class FMODSystem {
             } else {
                 log(GREEN + "FMOD system shutdown successfully" + RESET);
             }
+
+            // Nothing native refers to the event callback or bank memory once the system is released,
+            // and the audio thread has exited in stop() above
+            FMODInstanceReaper.shutdown();
+            FMODBankMemory.releaseAll();
         } catch (Exception e) {
             logError(RED + "Exception during FMOD shutdown: " + e.getMessage() + RESET);
         } finally {
             fmodSystem = 0;
             isInitialized = false;
+            FMODConfig.refreshSnapshot();
             currentStatus = "Shutdown";
             currentAudioSystem = "None";
 
@@ -665,95 +754,15 @@ public class FMODSystem {
     }
 
 
-    /**
-     * Clean up finished FMOD instances
-     */
-    private static void cleanupFinishedInstances() {
-        if (activeInstances.isEmpty()) return;
-
-        Iterator<Map.Entry<String, Long>> iterator = activeInstances.entrySet().iterator();
-        int cleanedCount = 0;
-
-        while (iterator.hasNext()) {
-            Map.Entry<String, Long> entry = iterator.next();
-            long instance = entry.getValue();
-            boolean shouldCleanup = false;
-
-            try (MemoryStack stack = MemoryStack.stackPush()) {
-                var playbackState = stack.mallocInt(1);
-                int result = FMODStudio.FMOD_Studio_EventInstance_GetPlaybackState(instance, playbackState);
-
-                if (result == FMOD.FMOD_OK) {
-                    int state = playbackState.get(0);
-
-                    // Check for explicitly stopped instances
-                    if (state == FMODStudio.FMOD_STUDIO_PLAYBACK_STOPPED ||
-                        state == FMODStudio.FMOD_STUDIO_PLAYBACK_STOPPING) {
-                        shouldCleanup = true;
-                    }
-                    // Check for one-shot events that have finished playing
-                    else if (state == FMODStudio.FMOD_STUDIO_PLAYBACK_PLAYING) {
-                        // Check if this is a one-shot event that has reached its end
-                        var timelinePosition = stack.mallocInt(1);
-                        int timeResult = FMODStudio.FMOD_Studio_EventInstance_GetTimelinePosition(instance, timelinePosition);
-
-                        if (timeResult == FMOD.FMOD_OK) {
-                            int position = timelinePosition.get(0);
-
-                            // Get event description to check if it's a one-shot
-                            PointerBuffer descPtr = stack.mallocPointer(1);
-                            int descResult = FMODStudio.FMOD_Studio_EventInstance_GetDescription(instance, descPtr);
-
-                            if (descResult == FMOD.FMOD_OK) {
-                                long description = descPtr.get(0);
-                                var isOneshot = stack.mallocInt(1);
-                                int oneshotResult = FMODStudio.FMOD_Studio_EventDescription_IsOneshot(description, isOneshot);
-
-                                if (oneshotResult == FMOD.FMOD_OK && isOneshot.get(0) == 1) {
-                                    // For one-shot events, check if timeline position has stopped advancing
-                                    // This indicates the event has finished playing
-                                    var length = stack.mallocInt(1);
-                                    int lengthResult = FMODStudio.FMOD_Studio_EventDescription_GetLength(description, length);
-
-                                    if (lengthResult == FMOD.FMOD_OK) {
-                                        int eventLength = length.get(0);
-                                        // If position is at or near the end, cleanup the instance
-                                        if (position >= eventLength - 50) { // 50ms tolerance
-                                            shouldCleanup = true;
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                } else {
-                    // Invalid instance, clean it up
-                    shouldCleanup = true;
-                }
-
-                if (shouldCleanup) {
-                    FMODStudio.FMOD_Studio_EventInstance_Release(instance);
-                    iterator.remove();
-                    cleanedCount++;
-                }
-
-            } catch (Exception e) {
-                // Error accessing instance, remove it
-                iterator.remove();
-                cleanedCount++;
-            }
-        }
-
-        if (cleanedCount > 0) {
-            log(GREEN + "Cleaned up " + cleanedCount + " finished FMOD instances" + RESET);
-        }
-    }
-
     /**
      * Clean up all active instances
      */
     private static void cleanupAllInstances() {
-        for (long instance : activeInstances.values()) {
+        for (int slot = 0, end = activeInstances.highWater(); slot < end; slot++) {
+            long instance = activeInstances.removeAt(slot);
+            if (instance == 0) {
+                continue;
+            }
             try {
                 FMODStudio.FMOD_Studio_EventInstance_Stop(instance, FMODStudio.FMOD_STUDIO_STOP_IMMEDIATE);
                 FMODStudio.FMOD_Studio_EventInstance_Release(instance);
@@ -761,7 +770,6 @@ public class FMODSystem {
                 // Ignore cleanup errors
             }
         }
-        activeInstances.clear();
     }
 
     // Getter methods for status
@@ -771,8 +779,25 @@ public class FMODSystem {
     public static String getCurrentAudioSystem() { return currentAudioSystem; }
     public static int getCurrentErrorCode() { return currentErrorCode; }
     public static long getSystemHandle() { return fmodSystem; }
-    public static Map<String, Long> getActiveInstances() { return activeInstances; }
-    public static int getMaxInstances() { return MAX_INSTANCES; }
+    static FMODInstanceRegistry getInstanceRegistry() { return activeInstances; }
+    public static long getTickCount() { return tickCount; }
+
+    /**
+     * Read-only copy of the playing instances, keyed by the id strings returned by playEvent
+     * @deprecated Instances are tracked by long ids now - use the long-returning playEvent overloads,
+     *             getActiveInstanceCount() and the FMODAPI query methods instead
+     */
+    @Deprecated
+    public static Map<String, Long> getActiveInstances() {
+        return Collections.unmodifiableMap(activeInstances.snapshot());
+    }
+
+    /**
+     * Configured instance limit, enforced by FMODVoiceLimiter
+     */
+    public static int getMaxInstances() {
+        return FMODConfig.snapshot().maxInstances;
+    }
 
     /**
      * Mark FMOD initialization as failed - used for graceful fallback when startup fails
@@ -780,6 +805,7 @@ public class FMODSystem {
     public static void markInitializationFailed() {
         initializationFailed = true;
         isInitialized = false;
+        FMODConfig.refreshSnapshot();
         currentStatus = "Initialization failed (graceful fallback)";
         currentAudioSystem = "OpenAL";
         currentErrorCode = -999; // Special code for startup failures
@@ -794,14 +820,23 @@ public class FMODSystem {
      * Store bank data for automatic reloading
      * @param bankName Name of the bank file
      * @param bankData Bank file data
+     * @deprecated Bank data is no longer kept on the heap. Banks are re-read from the resource they were
+     *             loaded from, or kept off-heap if listed in the residentBanks config - see FMODBankSources.
      */
+    @Deprecated
     public static void storeBankData(String bankName, byte[] bankData) {
-        System.out.println("[FMOD API] storeBankData() called for: " + bankName + " with " + bankData.length + " bytes");
-        loadedBanks.put(bankName, bankData.clone());
-        System.out.println("[FMOD API] loadedBanks map now contains " + loadedBanks.size() + " banks");
-        log(GREEN + "Stored bank data for reloading: " + bankName + " (" + bankData.length + " bytes)" + RESET);
+        log(YELLOW + "storeBankData() is deprecated and ignored - banks reload from their registered source: " + bankName + RESET);
     }
 
+    /**
+     * Release one reference to a bank; it is unloaded (and its cached event descriptions invalidated)
+     * once no registrant holds it anymore
+     * @param bankName Name of the bank file
+     * @return true if the bank has been unloaded
+     */
+    public static boolean unloadBank(String bankName) {
+        return FMODBankManager.release(bankName);
+    }
 
     /**
      * Register a listener for FMOD status changes
@@ -832,32 +867,52 @@ public class FMODSystem {
 
 
     /**
-     * Load all banks that have been registered by mods
+     * Start loading all banks that have been registered by mods.
+     * Banks load in the background - this returns without waiting for them.
      */
-    private static void loadRegisteredBanks() {
+    static void loadRegisteredBanks() {
         if (registeredBanks.isEmpty()) {
             log(GREEN + "No registered banks to load" + RESET);
             return;
         }
 
-        log(GREEN + "Loading " + registeredBanks.size() + " registered banks..." + RESET);
-        int successCount = 0;
+        // Only claims registrations not holding their bank yet - config reloads must not stack loads
+        List<BankRegistration> registrations = registeredBanks.stream()
+            .filter(BankRegistration::claim)
+            .toList();
+        int total = registrations.size();
+        if (total == 0) {
+            return;
+        }
+        log(GREEN + "Loading " + total + " registered banks in the background..." + RESET);
 
-        for (BankRegistration registration : registeredBanks) {
-            try {
-                boolean success = FMODAPI.loadBankFromResource(registration.modClass, registration.resourcePath);
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[total];
+        AtomicInteger successCount = new AtomicInteger();
+        for (int i = 0; i < total; i++) {
+            loads[i] = loadRegisteredBank(registrations.get(i)).thenAccept(success -> {
                 if (success) {
-                    successCount++;
-                    log(GREEN + "Loaded registered bank: " + registration.resourcePath + RESET);
-                } else {
-                    logError(RED + "Failed to load registered bank: " + registration.resourcePath + RESET);
+                    successCount.incrementAndGet();
                 }
-            } catch (Exception e) {
-                logError(RED + "Exception loading registered bank " + registration.resourcePath + ": " + e.getMessage() + RESET);
-            }
+            });
         }
 
-        log(GREEN + "Registered bank loading complete: " + successCount + "/" + registeredBanks.size() + " banks loaded successfully" + RESET);
+        CompletableFuture.allOf(loads).thenRun(() ->
+            log(GREEN + "Registered bank loading complete: " + successCount.get() + "/" + total + " banks loaded successfully" + RESET));
+    }
+
+    /**
+     * Load the bank of a registration that has just been claimed
+     */
+    private static CompletableFuture<Boolean> loadRegisteredBank(BankRegistration registration) {
+        return FMODAPI.loadBankFromResourceAsync(registration.modClass, registration.resourcePath, registration.sampleData)
+            .thenApply(success -> {
+                if (!success) {
+                    // Holds no reference - retried on the next load
+                    registration.acquired = false;
+                    logError(RED + "Failed to load registered bank: " + registration.resourcePath + RESET);
+                }
+                return success;
+            });
     }
 
     /**
@@ -869,18 +924,27 @@ public class FMODSystem {
      * @return true (always succeeds)
      */
     public static boolean registerBank(Class<?> modClass, String resourcePath) {
-        registeredBanks.add(new BankRegistration(modClass, resourcePath));
+        return registerBank(modClass, resourcePath, FMODBankLoader.SampleData.LAZY);
+    }
+
+    /**
+     * Register a bank to be loaded automatically when FMOD initializes.
+     * This method is safe to call during mod initialization, regardless of FMOD state.
+     *
+     * @param modClass Class from the mod (for resource loading)
+     * @param resourcePath Path to bank within mod JAR
+     * @param sampleData When to load the bank's sample data
+     * @return true (always succeeds)
+     */
+    public static boolean registerBank(Class<?> modClass, String resourcePath, FMODBankLoader.SampleData sampleData) {
+        BankRegistration registration = new BankRegistration(modClass, resourcePath, sampleData);
+        registeredBanks.add(registration);
         log(GREEN + "Registered bank for automatic loading: " + resourcePath + " from " + modClass.getSimpleName() + RESET);
 
-        // If FMOD is already initialized, load the bank immediately
-        if (isInitialized) {
-            try {
-                boolean success = FMODAPI.loadBankFromResource(modClass, resourcePath);
-                log(success ? GREEN + "Immediately loaded registered bank: " + resourcePath + RESET
-                           : YELLOW + "Failed to immediately load registered bank: " + resourcePath + RESET);
-            } catch (Exception e) {
-                logError(RED + "Exception loading registered bank: " + resourcePath + " - " + e.getMessage() + RESET);
-            }
+        // If FMOD is already initialized, start loading the bank right away. During a background
+        // initialization it is loaded together with the others once FMOD is ready.
+        if (isInitialized && !FMODStartup.isPending() && registration.claim()) {
+            loadRegisteredBank(registration);
         }
 
         return true;
@@ -898,10 +962,10 @@ public class FMODSystem {
     }
 
     private static void log(String message) {
-        System.out.println("[FMOD API] " + message);
+        FMODLog.info(message);
     }
 
     private static void logError(String message) {
-        System.err.println("[FMOD API] " + message);
+        FMODLog.error(message);
     }
 }
\ No newline at end of file
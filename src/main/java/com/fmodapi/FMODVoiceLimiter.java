@@ -0,0 +1,115 @@
+package com.fmodapi;
+
+/**
+ * Admission control in front of instance creation.
+ *
+ * Enforces the configured instance limit: when it is reached, the least important active instance
+ * is stolen (lowest event priority first, then the least audible one based on volume and distance
+ * to the listener). If the new sound is itself the least important, it is rejected instead.
+ * Also throttles how many instances of one event may start within a single tick, so that a burst
+ * of identical sounds collapses into a few voices.
+ */
+public class FMODVoiceLimiter {
+
+    private static int stolenCount = 0;
+    private static int throttledCount = 0;
+
+    /**
+     * Decide whether a new instance of an event may be created, stealing a voice if necessary.
+     * @return false if the sound should be dropped
+     */
+    static boolean admit(FMODAPI.EventHandle event, boolean positioned, double x, double y, double z, float volume) {
+        // Per-event throttling within the current tick
+        long tick = FMODSystem.getTickCount();
+        if (event.spawnTick != tick) {
+            event.spawnTick = tick;
+            event.spawnCount = 0;
+        }
+        if (event.spawnCount >= FMODConfig.snapshot().maxEventSpawnsPerTick) {
+            throttledCount++;
+            return false;
+        }
+
+        FMODInstanceRegistry instances = FMODSystem.getInstanceRegistry();
+        if (instances.size() >= FMODSystem.getMaxInstances() && !stealVoice(instances, event.priority,
+                audibility(positioned, (float) x, (float) y, (float) z, volume))) {
+            return false;
+        }
+
+        event.spawnCount++;
+        return true;
+    }
+
+    /**
+     * Stop the least important active instance if it is less important than the new sound
+     * @return true if a voice was freed
+     */
+    private static boolean stealVoice(FMODInstanceRegistry instances, int newPriority, float newAudibility) {
+        int victimSlot = -1;
+        long victimInstance = 0;
+        int victimPriority = newPriority;
+        float victimAudibility = newAudibility;
+
+        for (int slot = 0, end = instances.highWater(); slot < end; slot++) {
+            long instance = instances.handleAt(slot);
+            if (instance == 0) {
+                continue;
+            }
+
+            FMODAPI.EventHandle event = instances.eventAt(slot);
+            int priority = event != null ? event.priority : 0;
+            if (priority > victimPriority) {
+                continue;
+            }
+
+            float audibility = audibility(!Float.isNaN(instances.xAt(slot)),
+                instances.xAt(slot), instances.yAt(slot), instances.zAt(slot), instances.volumeAt(slot));
+            if (priority < victimPriority || audibility < victimAudibility) {
+                victimSlot = slot;
+                victimInstance = instance;
+                victimPriority = priority;
+                victimAudibility = audibility;
+            }
+        }
+
+        if (victimSlot < 0 || !instances.removeAt(victimSlot, victimInstance)) {
+            // Every active voice matters more than the new sound
+            return false;
+        }
+
+        FMODAudioThread.stopAndRelease(victimInstance, false);
+        stolenCount++;
+        return true;
+    }
+
+    /**
+     * Rough loudness at the listener - volume with inverse distance attenuation.
+     * 2D sounds, and all sounds before the listener is known, count at full volume.
+     */
+    private static float audibility(boolean positioned, float x, float y, float z, float volume) {
+        double listenerX = FMODListenerTracker.getListenerX();
+        if (!positioned || Double.isNaN(listenerX)) {
+            return volume;
+        }
+
+        double dx = x - listenerX;
+        double dy = y - FMODListenerTracker.getListenerY();
+        double dz = z - FMODListenerTracker.getListenerZ();
+        double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        return (float) (volume / Math.max(1.0, distance));
+    }
+
+    /**
+     * Number of voices stolen since startup
+     */
+    public static int getStolenCount() {
+        return stolenCount;
+    }
+
+    /**
+     * Number of sounds dropped by per-event throttling since startup
+     */
+    public static int getThrottledCount() {
+        return throttledCount;
+    }
+}
@@ -0,0 +1,111 @@
+package com.fmodapi;
+
+import net.minecraft.sounds.SoundSource;
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.fmod.FMOD;
+import org.lwjgl.fmod.FMODStudio;
+import org.lwjgl.system.MemoryStack;
+
+import java.util.Arrays;
+
+/**
+ * Maps Minecraft's sound categories onto FMOD Studio buses and VCAs.
+ *
+ * Each {@link SoundSource} can be mapped to a bus ("bus:/Music") or VCA ("vca:/Music") through the
+ * soundSourceBuses config option; its slider then sets the volume of that bus or VCA. An unmapped MASTER
+ * controls the core master channel group. Handles are resolved once and cached until a bank is loaded or
+ * unloaded, and only volumes that differ from the last applied value are sent to FMOD - an unchanged
+ * slider costs one float comparison per tick.
+ */
+public class FMODVolumeMapping {
+
+    private static final SoundSource[] SOURCES = SoundSource.values();
+
+    // Per SoundSource ordinal: resolved bus/VCA handle (0 if unmapped or missing) and last applied volume
+    private static final long[] handles = new long[SOURCES.length];
+    private static final boolean[] vca = new boolean[SOURCES.length];
+    private static final float[] applied = new float[SOURCES.length];
+
+    private static long resolvedSystem = 0;
+    // Mapping or loaded banks changed - resolve handles and apply every volume again
+    private static volatile boolean dirty = true;
+
+    /**
+     * Apply changed slider volumes. Called every client tick.
+     * @param volumes Volume per SoundSource ordinal (0.0 to 1.0)
+     */
+    static void update(float[] volumes) {
+        if (!FMODAPI.isAvailable()) {
+            return;
+        }
+
+        long system = FMODSystem.getSystemHandle();
+        if (dirty || resolvedSystem != system) {
+            dirty = false;
+            resolve(system);
+        }
+
+        for (int i = 0; i < SOURCES.length; i++) {
+            float volume = volumes[i];
+            if (volume != applied[i]) {
+                apply(i, volume);
+                applied[i] = volume;
+            }
+        }
+    }
+
+    /**
+     * Resolve the handles again on the next update, e.g. after bank (un)loads or a config change
+     */
+    static void invalidate() {
+        dirty = true;
+    }
+
+    private static void apply(int index, float volume) {
+        long handle = handles[index];
+        int result;
+        if (handle != 0) {
+            result = vca[index]
+                ? FMODStudio.FMOD_Studio_VCA_SetVolume(handle, volume)
+                : FMODStudio.FMOD_Studio_Bus_SetVolume(handle, volume);
+        } else if (SOURCES[index] == SoundSource.MASTER) {
+            FMODAPI.setMasterVolume(volume);
+            return;
+        } else {
+            return; // Unmapped, or the bank with its bus isn't loaded
+        }
+
+        if (result != FMOD.FMOD_OK) {
+            FMODLog.error("Failed to set volume of " + SOURCES[index].getName() + " (error: " + result + ")");
+        }
+    }
+
+    private static void resolve(long system) {
+        resolvedSystem = system;
+        Arrays.fill(handles, 0);
+        // NaN never equals a volume - everything is applied again with the new handles
+        Arrays.fill(applied, Float.NaN);
+
+        var mapping = FMODConfig.snapshot().soundSourceBuses;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            PointerBuffer handlePtr = stack.mallocPointer(1);
+            for (int i = 0; i < SOURCES.length; i++) {
+                String path = mapping.get(SOURCES[i].getName());
+                if (path == null) {
+                    continue;
+                }
+
+                vca[i] = path.startsWith("vca:/");
+                int result = vca[i]
+                    ? FMODStudio.FMOD_Studio_System_GetVCA(system, path, handlePtr)
+                    : FMODStudio.FMOD_Studio_System_GetBus(system, path, handlePtr);
+                if (result == FMOD.FMOD_OK) {
+                    handles[i] = handlePtr.get(0);
+                } else if (FMODLog.isDebugEnabled()) {
+                    // Expected until a bank defining it is loaded
+                    FMODLog.debug("No " + path + " for sound source " + SOURCES[i].getName() + " (error: " + result + ")");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.fmodapi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// FMOD is not initialized here - unloads are skipped, only the bookkeeping is exercised
+class FMODBankManagerTest {
+
+    private static final AtomicInteger nextHandle = new AtomicInteger(1);
+
+    // Loader that tracks a new handle and succeeds right away
+    private static Supplier<CompletableFuture<Boolean>> loader(String bankName, AtomicInteger loads) {
+        return () -> {
+            loads.incrementAndGet();
+            FMODBankManager.track(bankName, nextHandle.getAndIncrement());
+            return CompletableFuture.completedFuture(true);
+        };
+    }
+
+    @Test
+    void sharedLoadIsRefcounted() {
+        String bankName = "shared.bank";
+        AtomicInteger loads = new AtomicInteger();
+        assertTrue(FMODBankManager.acquire(bankName, loader(bankName, loads)).join());
+        assertTrue(FMODBankManager.acquire(bankName, loader(bankName, loads)).join());
+
+        assertEquals(1, loads.get());
+        assertEquals(2, FMODBankManager.getReferenceCount(bankName));
+        assertTrue(FMODBankManager.isLoaded(bankName));
+
+        FMODBankManager.release(bankName);
+        assertEquals(1, FMODBankManager.getReferenceCount(bankName));
+        FMODBankManager.release(bankName);
+        assertEquals(0, FMODBankManager.getReferenceCount(bankName));
+        assertFalse(FMODBankManager.isLoaded(bankName));
+    }
+
+    @Test
+    void failedLoadIsForgotten() {
+        String bankName = "failing.bank";
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<CompletableFuture<Boolean>> failing = () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(false);
+        };
+
+        assertFalse(FMODBankManager.acquire(bankName, failing).join());
+        assertEquals(0, FMODBankManager.getReferenceCount(bankName));
+        assertFalse(FMODBankManager.acquire(bankName, failing).join());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void reloadLoadsAgainAndKeepsReferences() {
+        String bankName = "reloaded.bank";
+        AtomicInteger loads = new AtomicInteger();
+        FMODBankManager.acquire(bankName, loader(bankName, loads)).join();
+        FMODBankManager.acquire(bankName, loader(bankName, loads)).join();
+
+        assertTrue(FMODBankManager.reload(bankName).join());
+        assertEquals(2, loads.get());
+        assertEquals(2, FMODBankManager.getReferenceCount(bankName));
+        assertTrue(FMODBankManager.isLoaded(bankName));
+
+        FMODBankManager.release(bankName);
+        FMODBankManager.release(bankName);
+    }
+
+    @Test
+    void reloadOfLoadingBankWaitsForTheLoad() {
+        String bankName = "loading.bank";
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<Boolean> firstLoad = new CompletableFuture<>();
+        Supplier<CompletableFuture<Boolean>> slowFirst = () -> {
+            if (loads.incrementAndGet() == 1) {
+                return firstLoad;
+            }
+            FMODBankManager.track(bankName, nextHandle.getAndIncrement());
+            return CompletableFuture.completedFuture(true);
+        };
+
+        CompletableFuture<Boolean> ready = FMODBankManager.acquire(bankName, slowFirst);
+        CompletableFuture<Boolean> reloaded = FMODBankManager.reload(bankName);
+        assertFalse(FMODBankManager.isLoaded(bankName));
+        assertFalse(reloaded.isDone());
+        // No second load of the same bank while the first is in flight
+        assertEquals(1, loads.get());
+
+        FMODBankManager.track(bankName, nextHandle.getAndIncrement());
+        firstLoad.complete(true);
+        assertTrue(ready.join());
+        assertTrue(reloaded.join());
+        assertEquals(2, loads.get());
+        assertTrue(FMODBankManager.isLoaded(bankName));
+
+        FMODBankManager.release(bankName);
+    }
+
+    @Test
+    void reloadOfUnknownBankFails() {
+        assertFalse(FMODBankManager.reload("missing.bank").join());
+    }
+}
@@ -0,0 +1,105 @@
+package com.fmodapi;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FMODCommandQueueTest {
+
+    private static boolean submit(FMODCommandQueue queue, int op, long id) {
+        long position = queue.claim();
+        if (position < 0) {
+            return false;
+        }
+        int index = queue.index(position);
+        queue.ops[index] = op;
+        queue.ids[index] = id;
+        queue.refs[index] = "ref" + id;
+        queue.args[index * FMODCommandQueue.ARG_STRIDE] = id;
+        queue.publish(position);
+        return true;
+    }
+
+    @Test
+    void emptyQueueHasNothingToPeek() {
+        FMODCommandQueue queue = new FMODCommandQueue(4);
+        assertEquals(-1, queue.peek());
+    }
+
+    @Test
+    void fullQueueRejectsClaims() {
+        FMODCommandQueue queue = new FMODCommandQueue(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(submit(queue, 1, i));
+        }
+        assertEquals(-1, queue.claim());
+
+        queue.consume(queue.peek());
+        assertTrue(submit(queue, 1, 4));
+        assertEquals(-1, queue.claim());
+    }
+
+    @Test
+    void claimedSlotIsInvisibleUntilPublished() {
+        FMODCommandQueue queue = new FMODCommandQueue(4);
+        long position = queue.claim();
+        assertEquals(-1, queue.peek());
+        queue.publish(position);
+        assertEquals(queue.index(position), queue.peek());
+    }
+
+    @Test
+    void keepsOrderAndArgumentsAcrossWraparound() {
+        FMODCommandQueue queue = new FMODCommandQueue(4);
+        long next = 0;
+        long expected = 0;
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(submit(queue, (int) (next % 5), next));
+                next++;
+            }
+            for (int i = 0; i < 3; i++) {
+                int index = queue.peek();
+                assertTrue(index >= 0);
+                assertEquals((int) (expected % 5), queue.ops[index]);
+                assertEquals(expected, queue.ids[index]);
+                assertEquals("ref" + expected, queue.refs[index]);
+                assertEquals((float) expected, queue.args[index * FMODCommandQueue.ARG_STRIDE]);
+                queue.consume(index);
+                // The reference is dropped so the ring doesn't keep it alive
+                assertNull(queue.refs[index]);
+                expected++;
+            }
+            assertEquals(-1, queue.peek());
+        }
+        assertEquals(expected, queue.headPosition());
+    }
+
+    @Test
+    void closedQueueRejectsClaimsUntilReopened() {
+        FMODCommandQueue queue = new FMODCommandQueue(4);
+        assertTrue(submit(queue, 1, 1));
+        assertTrue(submit(queue, 1, 2));
+
+        assertEquals(2, queue.close());
+        assertTrue(queue.isClosed());
+        assertEquals(-1, queue.claim());
+        // Closing twice reports the same position
+        assertEquals(2, queue.close());
+
+        // Commands claimed before the close are still drained
+        queue.consume(queue.peek());
+        queue.consume(queue.peek());
+        assertEquals(-1, queue.peek());
+        assertEquals(2, queue.headPosition());
+
+        queue.open();
+        assertFalse(queue.isClosed());
+        assertTrue(submit(queue, 1, 3));
+        int index = queue.peek();
+        assertEquals(3, queue.ids[index]);
+    }
+}
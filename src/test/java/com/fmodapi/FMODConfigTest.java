@@ -0,0 +1,65 @@
+package com.fmodapi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FMODConfigTest {
+
+    @Test
+    void parsesPoolSizes() {
+        Map<String, Integer> sizes = FMODConfig.parsePoolSizes(List.of("mymod/gunshot=16", " mymod/step = 4 "));
+        assertEquals(Map.of("mymod/gunshot", 16, "mymod/step", 4), sizes);
+    }
+
+    @Test
+    void poolSizesStripEventPrefix() {
+        Map<String, Integer> sizes = FMODConfig.parsePoolSizes(List.of("event:/mymod/gunshot=8"));
+        assertEquals(Map.of("mymod/gunshot", 8), sizes);
+    }
+
+    @Test
+    void poolSizesAreClamped() {
+        Map<String, Integer> sizes = FMODConfig.parsePoolSizes(List.of("a=100", "b=-3"));
+        assertEquals(Map.of("a", 64, "b", 0), sizes);
+    }
+
+    @Test
+    void poolSizesSplitOnLastEquals() {
+        Map<String, Integer> sizes = FMODConfig.parsePoolSizes(List.of("mymod/x=y=2"));
+        assertEquals(Map.of("mymod/x=y", 2), sizes);
+    }
+
+    @Test
+    void malformedPoolSizesAreSkipped() {
+        Map<String, Integer> sizes = FMODConfig.parsePoolSizes(List.of("noequals", "=5", "a=abc", "b=", "c=3"));
+        assertEquals(Map.of("c", 3), sizes);
+    }
+
+    @Test
+    void parsesSoundSourceBuses() {
+        Map<String, String> buses = FMODConfig.parseSoundSourceBuses(
+            List.of("music=bus:/Music", " HOSTILE = vca:/Mobs "));
+        assertEquals(Map.of("music", "bus:/Music", "hostile", "vca:/Mobs"), buses);
+    }
+
+    @Test
+    void malformedSoundSourceBusesAreSkipped() {
+        Map<String, String> buses = FMODConfig.parseSoundSourceBuses(
+            List.of("music", "=bus:/Music", "block=Blocks", "weather=event:/Rain", "voice=bus:/Voice"));
+        assertEquals(Map.of("voice", "bus:/Voice"), buses);
+    }
+
+    @Test
+    void parsedMapsAreImmutable() {
+        Map<String, Integer> sizes = FMODConfig.parsePoolSizes(List.of("a=1"));
+        assertThrows(UnsupportedOperationException.class, () -> sizes.put("b", 2));
+        Map<String, String> buses = FMODConfig.parseSoundSourceBuses(List.of());
+        assertTrue(buses.isEmpty());
+    }
+}
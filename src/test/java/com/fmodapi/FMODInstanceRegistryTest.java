@@ -0,0 +1,198 @@
+package com.fmodapi;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FMODInstanceRegistryTest {
+
+    private static long add2D(FMODInstanceRegistry registry, long instance) {
+        return registry.add(instance, null, false, 0, 0, 0, 1.0f);
+    }
+
+    private static long addAt(FMODInstanceRegistry registry, long instance, double x, double z) {
+        return registry.add(instance, null, true, x, 64, z, 1.0f);
+    }
+
+    @Test
+    void idsAreNeverSentinels() {
+        FMODInstanceRegistry registry = new FMODInstanceRegistry();
+        long id = add2D(registry, 100);
+        assertNotEquals(FMODInstanceRegistry.INVALID_ID, id);
+        assertNotEquals(FMODInstanceRegistry.DROPPED_ID, id);
+        assertTrue(id > 0);
+        assertFalse(registry.contains(FMODInstanceRegistry.INVALID_ID));
+        assertFalse(registry.contains(FMODInstanceRegistry.DROPPED_ID));
+        assertEquals(0, registry.remove(FMODInstanceRegistry.DROPPED_ID));
+    }
+
+    @Test
+    void reusedSlotDoesNotResolveStaleId() {
+        FMODInstanceRegistry registry = new FMODInstanceRegistry();
+        long first = add2D(registry, 100);
+        assertEquals(100, registry.remove(first));
+
+        long second = add2D(registry, 200);
+        // Same slot, new generation
+        assertEquals((int) first, (int) second);
+        assertNotEquals(first, second);
+
+        assertFalse(registry.contains(first));
+        assertEquals(0, registry.get(first));
+        assertEquals(0, registry.remove(first));
+        assertEquals(0, registry.move(first, 1, 2, 3));
+        assertFalse(registry.setScope(first, FMODScope.GLOBAL, 0));
+
+        assertTrue(registry.contains(second));
+        assertEquals(200, registry.get(second));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void reservedIdIsAttachedLater() {
+        FMODInstanceRegistry registry = new FMODInstanceRegistry();
+        long id = registry.reserve(null, false, 0, 0, 0, 1.0f);
+        assertTrue(registry.contains(id));
+        assertEquals(0, registry.get(id));
+
+        assertTrue(registry.attach(id, 300));
+        assertEquals(300, registry.get(id));
+
+        registry.remove(id);
+        assertFalse(registry.attach(id, 400));
+    }
+
+    @Test
+    void removeAtChecksExpectedInstance() {
+        FMODInstanceRegistry registry = new FMODInstanceRegistry();
+        long id = add2D(registry, 100);
+        int slot = (int) id;
+        assertFalse(registry.removeAt(slot, 999));
+        assertTrue(registry.contains(id));
+        assertTrue(registry.removeAt(slot, 100));
+        assertFalse(registry.contains(id));
+        assertEquals(FMODInstanceRegistry.INVALID_ID, registry.idAt(slot));
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        FMODInstanceRegistry registry = new FMODInstanceRegistry();
+        long[] ids = new long[1000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = addAt(registry, i + 1, i * 4, 0);
+        }
+        assertEquals(ids.length, registry.size());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(i + 1, registry.get(ids[i]));
+        }
+    }
+
+    @Test
+    void scopeCountsFollowChanges() {
+        FMODInstanceRegistry registry = new FMODInstanceRegistry();
+        long positioned = addAt(registry, 100, 0, 0);
+        long flat = add2D(registry, 200);
+        assertEquals(1, registry.scopeSize(FMODScope.CHUNK));
+        assertEquals(1, registry.scopeSize(FMODScope.WORLD));
+
+        assertTrue(registry.setScope(positioned, FMODScope.ENTITY, 42));
+        assertTrue(registry.setScope(flat, FMODScope.ENTITY, 43));
+        assertEquals(0, registry.scopeSize(FMODScope.CHUNK));
+        assertEquals(2, registry.scopeSize(FMODScope.ENTITY));
+
+        long[] handles = new long[4];
+        assertEquals(1, registry.removeScope(FMODScope.ENTITY, 42, handles));
+        assertEquals(100, handles[0]);
+        assertEquals(1, registry.scopeSize(FMODScope.ENTITY));
+        assertTrue(registry.contains(flat));
+    }
+
+    @Test
+    void removeScopeFillsInBatches() {
+        FMODInstanceRegistry registry = new FMODInstanceRegistry();
+        for (int i = 0; i < 10; i++) {
+            add2D(registry, i + 1);
+        }
+        long[] handles = new long[4];
+        assertEquals(4, registry.removeScope(FMODScope.WORLD, -1, handles));
+        assertEquals(4, registry.removeScope(FMODScope.WORLD, -1, handles));
+        assertEquals(2, registry.removeScope(FMODScope.WORLD, -1, handles));
+        assertEquals(0, registry.removeScope(FMODScope.WORLD, -1, handles));
+        assertTrue(registry.isEmpty());
+    }
+
+    @Test
+    void removeChunkOnlyTakesChunkScopedInstances() {
+        FMODInstanceRegistry registry = new FMODInstanceRegistry();
+        long a = addAt(registry, 100, 1, 1);
+        long b = addAt(registry, 200, 15, 15);
+        long elsewhere = addAt(registry, 300, 16, 0);
+        long global = addAt(registry, 400, 8, 8);
+        registry.setScope(global, FMODScope.GLOBAL, 0);
+
+        long[] ids = new long[8];
+        assertEquals(3, registry.inChunk(0, 0, ids));
+
+        long[] handles = new long[8];
+        assertEquals(2, registry.removeChunk(0, 0, handles));
+        assertFalse(registry.contains(a));
+        assertFalse(registry.contains(b));
+        assertTrue(registry.contains(elsewhere));
+        assertTrue(registry.contains(global));
+        assertEquals(1, registry.inChunk(0, 0, ids));
+        assertEquals(global, ids[0]);
+    }
+
+    @Test
+    void moveUpdatesChunk() {
+        FMODInstanceRegistry registry = new FMODInstanceRegistry();
+        long id = addAt(registry, 100, 0, 0);
+        assertEquals(100, registry.move(id, 40, 64, -40));
+
+        long[] ids = new long[4];
+        assertEquals(0, registry.inChunk(0, 0, ids));
+        assertEquals(1, registry.inChunk(2, -3, ids));
+        assertEquals(id, ids[0]);
+    }
+
+    @Test
+    void nearestIsSortedByDistance() {
+        FMODInstanceRegistry registry = new FMODInstanceRegistry();
+        addAt(registry, 100, 100, 0);
+        long near = addAt(registry, 200, 1, 0);
+        long middle = addAt(registry, 300, 10, 0);
+        add2D(registry, 400);
+
+        long[] ids = new long[2];
+        assertEquals(2, registry.nearest(0, 64, 0, ids));
+        assertEquals(near, ids[0]);
+        assertEquals(middle, ids[1]);
+    }
+
+    @Test
+    void withinRadiusSkipsFarAndFlatInstances() {
+        FMODInstanceRegistry registry = new FMODInstanceRegistry();
+        long near = addAt(registry, 100, 3, 4);
+        addAt(registry, 200, 30, 0);
+        add2D(registry, 300);
+
+        long[] ids = new long[4];
+        assertEquals(1, registry.withinRadius(0, 64, 0, 5, ids));
+        assertEquals(near, ids[0]);
+    }
+
+    @Test
+    void clearFreesEverything() {
+        FMODInstanceRegistry registry = new FMODInstanceRegistry();
+        long id = addAt(registry, 100, 0, 0);
+        add2D(registry, 200);
+        registry.clear();
+        assertTrue(registry.isEmpty());
+        assertFalse(registry.contains(id));
+        assertEquals(0, registry.scopeSize(FMODScope.CHUNK));
+        assertEquals(0, registry.inChunk(0, 0, new long[4]));
+    }
+}
@@ -0,0 +1,96 @@
+package com.fmodapi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FMODLongQueueTest {
+
+    @Test
+    void emptyQueuePollsNothing() {
+        FMODLongQueue queue = new FMODLongQueue(4);
+        assertFalse(queue.poll());
+    }
+
+    @Test
+    void fullQueueRejectsOffers() {
+        FMODLongQueue queue = new FMODLongQueue(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(99));
+
+        assertTrue(queue.poll());
+        assertEquals(0, queue.lastPolled());
+        assertTrue(queue.offer(4));
+        assertFalse(queue.offer(99));
+    }
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        FMODLongQueue queue = new FMODLongQueue(5);
+        int accepted = 0;
+        while (queue.offer(accepted)) {
+            accepted++;
+        }
+        assertEquals(8, accepted);
+    }
+
+    @Test
+    void keepsOrderAcrossWraparound() {
+        FMODLongQueue queue = new FMODLongQueue(4);
+        long next = 0;
+        long expected = 0;
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(queue.offer(next++));
+            }
+            for (int i = 0; i < 3; i++) {
+                assertTrue(queue.poll());
+                assertEquals(expected++, queue.lastPolled());
+            }
+            assertFalse(queue.poll());
+        }
+    }
+
+    @Test
+    void concurrentProducersLoseNothing() throws InterruptedException {
+        FMODLongQueue queue = new FMODLongQueue(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!queue.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            threads[p].start();
+        }
+
+        long[] lastSeen = new long[producers];
+        Arrays.fill(lastSeen, -1);
+        int received = 0;
+        while (received < producers * perProducer) {
+            if (queue.poll()) {
+                long value = queue.lastPolled();
+                int producer = (int) (value / perProducer);
+                // Per-producer order is preserved
+                assertTrue(value > lastSeen[producer]);
+                lastSeen[producer] = value;
+                received++;
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse(queue.poll());
+    }
+}
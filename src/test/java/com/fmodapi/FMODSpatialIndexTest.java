@@ -0,0 +1,180 @@
+package com.fmodapi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FMODSpatialIndexTest {
+
+    private static Set<Integer> slotsIn(FMODSpatialIndex index, int chunkX, int chunkZ) {
+        Set<Integer> slots = new HashSet<>();
+        for (int slot = index.first(FMODSpatialIndex.chunkKey(chunkX, chunkZ));
+             slot != FMODSpatialIndex.NONE; slot = index.next(slot)) {
+            assertTrue(slots.add(slot), "slot listed twice");
+        }
+        return slots;
+    }
+
+    @Test
+    void chunkCoordFloorsNegativeBlocks() {
+        assertEquals(0, FMODSpatialIndex.chunkCoord(0.5));
+        assertEquals(0, FMODSpatialIndex.chunkCoord(15.9));
+        assertEquals(1, FMODSpatialIndex.chunkCoord(16));
+        assertEquals(-1, FMODSpatialIndex.chunkCoord(-0.5));
+        assertEquals(-1, FMODSpatialIndex.chunkCoord(-16));
+        assertEquals(-2, FMODSpatialIndex.chunkCoord(-16.5));
+    }
+
+    @Test
+    void chunkKeyMatchesChunkPosPacking() {
+        assertEquals(0x0000000200000001L, FMODSpatialIndex.chunkKey(1, 2));
+        assertEquals(0xFFFFFFFEFFFFFFFFL, FMODSpatialIndex.chunkKey(-1, -2));
+    }
+
+    @Test
+    void removeAndReinsertInSameChunk() {
+        FMODSpatialIndex index = new FMODSpatialIndex(8);
+        index.insert(0, 1, 1);
+        index.insert(1, 2, 2);
+        index.insert(2, 3, 3);
+        assertEquals(Set.of(0, 1, 2), slotsIn(index, 0, 0));
+
+        // Middle, head and last of the list
+        index.remove(1);
+        assertEquals(Set.of(0, 2), slotsIn(index, 0, 0));
+        index.remove(2);
+        assertEquals(Set.of(0), slotsIn(index, 0, 0));
+        index.remove(0);
+        assertEquals(Set.of(), slotsIn(index, 0, 0));
+        assertEquals(0, index.size());
+        assertEquals(0, index.cellCount());
+
+        index.insert(1, 5, 5);
+        assertEquals(Set.of(1), slotsIn(index, 0, 0));
+        assertEquals(1, index.cellCount());
+    }
+
+    @Test
+    void removingUnindexedSlotDoesNothing() {
+        FMODSpatialIndex index = new FMODSpatialIndex(4);
+        index.insert(0, 0, 0);
+        index.remove(1);
+        index.remove(0);
+        index.remove(0);
+        assertEquals(0, index.size());
+        assertFalse(index.isIndexed(0));
+    }
+
+    @Test
+    void updateMovesBetweenChunks() {
+        FMODSpatialIndex index = new FMODSpatialIndex(4);
+        index.insert(0, 0, 0);
+        index.update(0, 8, 8);
+        assertEquals(Set.of(0), slotsIn(index, 0, 0));
+
+        index.update(0, -20, 40);
+        assertEquals(Set.of(), slotsIn(index, 0, 0));
+        assertEquals(Set.of(0), slotsIn(index, -2, 2));
+        assertEquals(1, index.cellCount());
+    }
+
+    @Test
+    void collidingChunksSurviveBackwardShiftDeletion() {
+        // Chunks x = 0.. whose keys share the home bucket of chunk 0 in the initial 64-entry table
+        int[] colliding = new int[4];
+        int home = FMODSpatialIndex.hash(FMODSpatialIndex.chunkKey(0, 0)) & 63;
+        for (int chunkX = 1, found = 1; found < colliding.length; chunkX++) {
+            if ((FMODSpatialIndex.hash(FMODSpatialIndex.chunkKey(chunkX, 0)) & 63) == home) {
+                colliding[found++] = chunkX;
+            }
+        }
+
+        FMODSpatialIndex index = new FMODSpatialIndex(8);
+        for (int slot = 0; slot < colliding.length; slot++) {
+            index.insert(slot, colliding[slot] * 16, 0);
+        }
+
+        // Deleting the head of the probe run must shift the others back into reach
+        index.remove(0);
+        for (int slot = 1; slot < colliding.length; slot++) {
+            assertEquals(Set.of(slot), slotsIn(index, colliding[slot], 0));
+        }
+        index.remove(2);
+        assertEquals(Set.of(1), slotsIn(index, colliding[1], 0));
+        assertEquals(Set.of(3), slotsIn(index, colliding[3], 0));
+
+        // Reinsert into the freed cells
+        index.insert(0, colliding[0] * 16, 0);
+        index.insert(2, colliding[2] * 16, 0);
+        for (int slot = 0; slot < colliding.length; slot++) {
+            assertEquals(Set.of(slot), slotsIn(index, colliding[slot], 0));
+        }
+        assertEquals(colliding.length, index.cellCount());
+    }
+
+    @Test
+    void matchesModelUnderRandomChurn() {
+        int slots = 512;
+        FMODSpatialIndex index = new FMODSpatialIndex(slots);
+        Map<Integer, Long> model = new HashMap<>();
+        Random random = new Random(1234);
+
+        for (int step = 0; step < 20_000; step++) {
+            int slot = random.nextInt(slots);
+            // Small area so chunks are shared and cells are created and emptied often
+            double x = (random.nextInt(24) - 12) * 16 + random.nextInt(16);
+            double z = (random.nextInt(24) - 12) * 16 + random.nextInt(16);
+            long key = FMODSpatialIndex.chunkKey(FMODSpatialIndex.chunkCoord(x), FMODSpatialIndex.chunkCoord(z));
+
+            if (!model.containsKey(slot)) {
+                index.insert(slot, x, z);
+                model.put(slot, key);
+            } else if (random.nextBoolean()) {
+                index.remove(slot);
+                model.remove(slot);
+            } else {
+                index.update(slot, x, z);
+                model.put(slot, key);
+            }
+        }
+
+        assertEquals(model.size(), index.size());
+        Map<Long, Set<Integer>> expected = new HashMap<>();
+        model.forEach((slot, key) -> expected.computeIfAbsent(key, k -> new HashSet<>()).add(slot));
+        assertEquals(expected.size(), index.cellCount());
+        for (int chunkX = -12; chunkX < 12; chunkX++) {
+            for (int chunkZ = -12; chunkZ < 12; chunkZ++) {
+                long key = FMODSpatialIndex.chunkKey(chunkX, chunkZ);
+                assertEquals(expected.getOrDefault(key, Set.of()), slotsIn(index, chunkX, chunkZ));
+            }
+        }
+    }
+
+    @Test
+    void rehashKeepsEveryChunk() {
+        FMODSpatialIndex index = new FMODSpatialIndex(16);
+        index.growSlots(1024);
+        List<int[]> chunks = new ArrayList<>();
+        for (int slot = 0; slot < 1000; slot++) {
+            int chunkX = slot % 40 - 20;
+            int chunkZ = slot / 40 - 12;
+            index.insert(slot, chunkX * 16 + 8, chunkZ * 16 + 8);
+            chunks.add(new int[] {chunkX, chunkZ});
+        }
+        assertEquals(1000, index.cellCount());
+        for (int slot = 0; slot < 1000; slot++) {
+            int[] chunk = chunks.get(slot);
+            assertEquals(Set.of(slot), slotsIn(index, chunk[0], chunk[1]));
+        }
+    }
+}